@@ -1,17 +1,26 @@
 #include "functions.hpp"
 #include "duckdb.hpp"
 #include "duckdb/catalog/catalog_search_path.hpp"
+#include "duckdb/common/arrow/arrow_appender.hpp"
+#include "duckdb/common/arrow/arrow_converter.hpp"
 #include "duckdb/common/arrow/result_arrow_wrapper.hpp"
 #include "duckdb/common/operator/cast_operators.hpp"
 #include "duckdb/common/shared_ptr.hpp"
 #include "duckdb/function/table/arrow.hpp"
 #include "duckdb/main/appender.hpp"
+#include "duckdb/main/attached_database.hpp"
 #include "duckdb/main/client_context.hpp"
+#include "duckdb/main/client_context_state.hpp"
 #include "duckdb/main/client_data.hpp"
 #include "duckdb/main/database_manager.hpp"
 #include "duckdb/main/db_instance_cache.hpp"
 #include "duckdb/main/extension_util.hpp"
+#include "duckdb/main/prepared_statement_data.hpp"
+#include "duckdb/parser/parsed_data/create_scalar_function_info.hpp"
+#include "duckdb/parser/parsed_data/create_table_function_info.hpp"
 #include "duckdb/parser/parsed_data/create_type_info.hpp"
+#include "duckdb/storage/object_cache.hpp"
+#include "duckdb/storage/table/column_segment.hpp"
 
 
 using namespace duckdb;
@@ -43,6 +52,13 @@ static jclass J_Timestamp;
 static jclass J_TimestampTZ;
 static jclass J_Decimal;
 static jclass J_ByteArray;
+static jclass J_BooleanArray;
+static jclass J_ShortArray;
+static jclass J_IntArray;
+static jclass J_LongArray;
+static jclass J_FloatArray;
+static jclass J_DoubleArray;
+static jclass J_ByteArrayArray;
 
 static jmethodID J_Bool_booleanValue;
 static jmethodID J_Byte_byteValue;
@@ -61,19 +77,33 @@ static jmethodID J_Decimal_longValue;
 
 static jclass J_DuckResultSetMeta;
 static jmethodID J_DuckResultSetMeta_init;
+//! DuckDBColumnType ordinals by constant name
+static duckdb::unordered_map<string, jint> column_type_ordinals;
+//! DuckDBColumnType ordinals of non-aliased types by LogicalTypeId, filled on load so no type string is built per column
+static jint column_type_ordinals_by_id[256];
 
 static jclass J_DuckVector;
 static jmethodID J_DuckVector_init;
 static jfieldID J_DuckVector_constlen;
 static jfieldID J_DuckVector_varlen;
+static jfieldID J_DuckVector_string_data;
+static jfieldID J_DuckVector_string_offsets;
+static jfieldID J_DuckVector_dictionary;
+static jfieldID J_DuckVector_dictionary_codes;
+static jfieldID J_DuckVector_struct_children;
+static jfieldID J_DuckVector_struct_keys;
+static jfieldID J_DuckVector_struct_type_name;
+static jfieldID J_DuckVector_list_child;
+static jfieldID J_DuckVector_array_size;
+
+static jfieldID J_DuckParameters_types;
+static jfieldID J_DuckParameters_values;
+static jfieldID J_DuckParameters_objects;
 
-static jclass J_DuckArray;
-static jmethodID J_DuckArray_init;
 
-static jclass J_DuckStruct;
-static jmethodID J_DuckStruct_init;
 
 static jclass J_ByteBuffer;
+static jmethodID J_ByteBuffer_wrap;
 
 static jmethodID J_Map_entrySet;
 static jmethodID J_Set_iterator;
@@ -93,6 +123,30 @@ static jmethodID J_Object_toString;
 
 static jclass J_DuckDBTime;
 
+static JavaVM *java_vm;
+
+static jclass J_DuckDataChunk;
+static jmethodID J_DuckDataChunk_init;
+static jclass J_DuckOutputVector;
+static jmethodID J_DuckOutputVector_init;
+static jfieldID J_DuckOutputVector_string_data;
+static jfieldID J_DuckOutputVector_string_starts;
+static jfieldID J_DuckOutputVector_string_lengths;
+static jmethodID J_DuckScalarFunction_apply;
+static jmethodID J_DuckAggregateFunction_createState;
+static jmethodID J_DuckAggregateFunction_update;
+static jmethodID J_DuckAggregateFunction_combine;
+static jmethodID J_DuckAggregateFunction_finish;
+
+static jmethodID J_Supplier_get;
+static jmethodID J_DuckTableProducer_produce;
+
+static jclass J_Object;
+static jclass J_Arrays;
+static jmethodID J_Arrays_asList;
+static jclass J_Collections;
+static jmethodID J_Collections_nCopies;
+
 void ThrowJNI(JNIEnv *env, const char *message) {
 	D_ASSERT(J_SQLException);
 	env->ThrowNew(J_SQLException, message);
@@ -176,6 +230,45 @@ JNIEXPORT jint JNICALL JNI_OnLoad(JavaVM *vm, void *reserved) {
 
 	J_DuckDBTime = GetClassRef(env, "org/duckdb/DuckDBTime");
 
+	java_vm = vm;
+
+	J_DuckDataChunk = GetClassRef(env, "org/duckdb/DuckDBDataChunk");
+	J_DuckDataChunk_init = env->GetMethodID(J_DuckDataChunk, "<init>", "([Lorg/duckdb/DuckDBVector;I)V");
+	J_DuckOutputVector = GetClassRef(env, "org/duckdb/DuckDBOutputVector");
+	J_DuckOutputVector_init =
+	    env->GetMethodID(J_DuckOutputVector, "<init>", "(IIILjava/nio/ByteBuffer;Ljava/nio/ByteBuffer;)V");
+	J_DuckOutputVector_string_data = env->GetFieldID(J_DuckOutputVector, "string_data", "[B");
+	J_DuckOutputVector_string_starts = env->GetFieldID(J_DuckOutputVector, "string_starts", "[I");
+	J_DuckOutputVector_string_lengths = env->GetFieldID(J_DuckOutputVector, "string_lengths", "[I");
+
+	tmpLocalRef = env->FindClass("org/duckdb/DuckDBScalarFunction");
+	J_DuckScalarFunction_apply = env->GetMethodID(tmpLocalRef, "apply",
+	                                              "(Lorg/duckdb/DuckDBDataChunk;Lorg/duckdb/DuckDBOutputVector;)V");
+	env->DeleteLocalRef(tmpLocalRef);
+
+	tmpLocalRef = env->FindClass("org/duckdb/DuckDBAggregateFunction");
+	J_DuckAggregateFunction_createState = env->GetMethodID(tmpLocalRef, "createState", "()Ljava/lang/Object;");
+	J_DuckAggregateFunction_update =
+	    env->GetMethodID(tmpLocalRef, "update", "(Lorg/duckdb/DuckDBDataChunk;Ljava/util/List;)V");
+	J_DuckAggregateFunction_combine = env->GetMethodID(tmpLocalRef, "combine", "(Ljava/util/List;Ljava/util/List;)V");
+	J_DuckAggregateFunction_finish =
+	    env->GetMethodID(tmpLocalRef, "finish", "(Ljava/util/List;Lorg/duckdb/DuckDBOutputVector;)V");
+	env->DeleteLocalRef(tmpLocalRef);
+
+	tmpLocalRef = env->FindClass("java/util/function/Supplier");
+	J_Supplier_get = env->GetMethodID(tmpLocalRef, "get", "()Ljava/lang/Object;");
+	env->DeleteLocalRef(tmpLocalRef);
+
+	tmpLocalRef = env->FindClass("org/duckdb/DuckDBTableProducer");
+	J_DuckTableProducer_produce = env->GetMethodID(tmpLocalRef, "produce", "([Lorg/duckdb/DuckDBOutputVector;)I");
+	env->DeleteLocalRef(tmpLocalRef);
+
+	J_Object = GetClassRef(env, "java/lang/Object");
+	J_Arrays = GetClassRef(env, "java/util/Arrays");
+	J_Arrays_asList = env->GetStaticMethodID(J_Arrays, "asList", "([Ljava/lang/Object;)Ljava/util/List;");
+	J_Collections = GetClassRef(env, "java/util/Collections");
+	J_Collections_nCopies = env->GetStaticMethodID(J_Collections, "nCopies", "(ILjava/lang/Object;)Ljava/util/List;");
+
 	tmpLocalRef = env->FindClass("java/math/BigDecimal");
 	J_Decimal = (jclass)env->NewGlobalRef(tmpLocalRef);
 	env->DeleteLocalRef(tmpLocalRef);
@@ -183,6 +276,14 @@ JNIEXPORT jint JNICALL JNI_OnLoad(JavaVM *vm, void *reserved) {
 	J_ByteArray = (jclass)env->NewGlobalRef(tmpLocalRef);
 	env->DeleteLocalRef(tmpLocalRef);
 
+	J_BooleanArray = GetClassRef(env, "[Z");
+	J_ShortArray = GetClassRef(env, "[S");
+	J_IntArray = GetClassRef(env, "[I");
+	J_LongArray = GetClassRef(env, "[J");
+	J_FloatArray = GetClassRef(env, "[F");
+	J_DoubleArray = GetClassRef(env, "[D");
+	J_ByteArrayArray = GetClassRef(env, "[[B");
+
 	tmpLocalRef = env->FindClass("java/util/Map");
 	J_Map_entrySet = env->GetMethodID(tmpLocalRef, "entrySet", "()Ljava/util/Set;");
 	env->DeleteLocalRef(tmpLocalRef);
@@ -202,21 +303,6 @@ JNIEXPORT jint JNICALL JNI_OnLoad(JavaVM *vm, void *reserved) {
 	J_UUID_getLeastSignificantBits = env->GetMethodID(J_UUID, "getLeastSignificantBits", "()J");
 	env->DeleteLocalRef(tmpLocalRef);
 
-	tmpLocalRef = env->FindClass("org/duckdb/DuckDBArray");
-	D_ASSERT(tmpLocalRef);
-	J_DuckArray = (jclass)env->NewGlobalRef(tmpLocalRef);
-	J_DuckArray_init = env->GetMethodID(J_DuckArray, "<init>", "(Lorg/duckdb/DuckDBVector;II)V");
-	D_ASSERT(J_DuckArray_init);
-	env->DeleteLocalRef(tmpLocalRef);
-
-	tmpLocalRef = env->FindClass("org/duckdb/DuckDBStruct");
-	D_ASSERT(tmpLocalRef);
-	J_DuckStruct = (jclass)env->NewGlobalRef(tmpLocalRef);
-	J_DuckStruct_init =
-	    env->GetMethodID(J_DuckStruct, "<init>", "([Ljava/lang/String;[Lorg/duckdb/DuckDBVector;ILjava/lang/String;)V");
-	D_ASSERT(J_DuckStruct_init);
-	env->DeleteLocalRef(tmpLocalRef);
-
 	tmpLocalRef = env->FindClass("java/util/Map$Entry");
 	J_Entry_getKey = env->GetMethodID(tmpLocalRef, "getKey", "()Ljava/lang/Object;");
 	J_Entry_getValue = env->GetMethodID(tmpLocalRef, "getValue", "()Ljava/lang/Object;");
@@ -242,22 +328,76 @@ JNIEXPORT jint JNICALL JNI_OnLoad(JavaVM *vm, void *reserved) {
 	env->DeleteLocalRef(tmpLocalRef);
 
 	J_DuckResultSetMeta_init =
-	    env->GetMethodID(J_DuckResultSetMeta, "<init>",
-	                     "(II[Ljava/lang/String;[Ljava/lang/String;[Ljava/lang/String;Ljava/lang/String;)V");
+	    env->GetMethodID(J_DuckResultSetMeta, "<init>", "(II[I[I[B[ILjava/lang/String;)V");
+
+	tmpLocalRef = env->FindClass("org/duckdb/DuckDBColumnType");
+	auto column_types = (jobjectArray)env->CallStaticObjectMethod(
+	    tmpLocalRef, env->GetStaticMethodID(tmpLocalRef, "values", "()[Lorg/duckdb/DuckDBColumnType;"));
+	auto column_type_name = env->GetMethodID(tmpLocalRef, "name", "()Ljava/lang/String;");
+	for (jsize i = 0; i < env->GetArrayLength(column_types); i++) {
+		auto column_type = env->GetObjectArrayElement(column_types, i);
+		auto name_j = (jstring)env->CallObjectMethod(column_type, column_type_name);
+		auto name = env->GetStringUTFChars(name_j, nullptr);
+		column_type_ordinals[name] = i;
+		env->ReleaseStringUTFChars(name_j, name);
+		env->DeleteLocalRef(name_j);
+		env->DeleteLocalRef(column_type);
+	}
+	env->DeleteLocalRef(column_types);
+	env->DeleteLocalRef(tmpLocalRef);
+	// the names DuckDBResultSetMetaData.TypeNameToType maps type names to, the other types map by their plain name
+	for (idx_t id = 0; id < 256; id++) {
+		string name;
+		switch ((LogicalTypeId)id) {
+		case LogicalTypeId::TIME_TZ:
+			name = "TIME_WITH_TIME_ZONE";
+			break;
+		case LogicalTypeId::TIMESTAMP_TZ:
+			name = "TIMESTAMP_WITH_TIME_ZONE";
+			break;
+		default:
+			try {
+				name = LogicalTypeIdToString((LogicalTypeId)id);
+			} catch (std::exception &) {
+				// not a type id in use
+				name = "UNKNOWN";
+			}
+			break;
+		}
+		auto entry = column_type_ordinals.find(name);
+		column_type_ordinals_by_id[id] =
+		    entry == column_type_ordinals.end() ? column_type_ordinals["UNKNOWN"] : entry->second;
+	}
 
 	tmpLocalRef = env->FindClass("org/duckdb/DuckDBVector");
 	J_DuckVector = (jclass)env->NewGlobalRef(tmpLocalRef);
 	env->DeleteLocalRef(tmpLocalRef);
 
+	tmpLocalRef = env->FindClass("org/duckdb/DuckDBParameters");
+	J_DuckParameters_types = env->GetFieldID(tmpLocalRef, "types", "[B");
+	J_DuckParameters_values = env->GetFieldID(tmpLocalRef, "values", "[J");
+	J_DuckParameters_objects = env->GetFieldID(tmpLocalRef, "objects", "[Ljava/lang/Object;");
+	env->DeleteLocalRef(tmpLocalRef);
+
 	J_String_getBytes = env->GetMethodID(J_String, "getBytes", "(Ljava/nio/charset/Charset;)[B");
 
-	J_DuckVector_init = env->GetMethodID(J_DuckVector, "<init>", "(Ljava/lang/String;I[Z)V");
+	J_DuckVector_init = env->GetMethodID(J_DuckVector, "<init>", "(IIIILjava/nio/ByteBuffer;)V");
 	J_DuckVector_constlen = env->GetFieldID(J_DuckVector, "constlen_data", "Ljava/nio/ByteBuffer;");
 	J_DuckVector_varlen = env->GetFieldID(J_DuckVector, "varlen_data", "[Ljava/lang/Object;");
+	J_DuckVector_string_data = env->GetFieldID(J_DuckVector, "string_data", "[B");
+	J_DuckVector_string_offsets = env->GetFieldID(J_DuckVector, "string_offsets", "[I");
+	J_DuckVector_dictionary = env->GetFieldID(J_DuckVector, "dictionary", "[Ljava/lang/String;");
+	J_DuckVector_dictionary_codes = env->GetFieldID(J_DuckVector, "dictionary_codes", "[I");
+	J_DuckVector_struct_children = env->GetFieldID(J_DuckVector, "struct_children", "[Lorg/duckdb/DuckDBVector;");
+	J_DuckVector_struct_keys = env->GetFieldID(J_DuckVector, "struct_keys", "[Ljava/lang/String;");
+	J_DuckVector_struct_type_name = env->GetFieldID(J_DuckVector, "struct_type_name", "Ljava/lang/String;");
+	J_DuckVector_list_child = env->GetFieldID(J_DuckVector, "list_child", "Lorg/duckdb/DuckDBVector;");
+	J_DuckVector_array_size = env->GetFieldID(J_DuckVector, "array_size", "I");
 
 	tmpLocalRef = env->FindClass("java/nio/ByteBuffer");
 	J_ByteBuffer = (jclass)env->NewGlobalRef(tmpLocalRef);
 	env->DeleteLocalRef(tmpLocalRef);
+	J_ByteBuffer_wrap = env->GetStaticMethodID(J_ByteBuffer, "wrap", "([B)Ljava/nio/ByteBuffer;");
 
 	tmpLocalRef = env->FindClass("java/lang/Object");
 	J_Object_toString = env->GetMethodID(tmpLocalRef, "toString", "()Ljava/lang/String;");
@@ -512,6 +652,8 @@ void _duckdb_jdbc_disconnect(JNIEnv *env, jclass, jobject conn_ref_buf) {
 
 struct StatementHolder {
 	duckdb::unique_ptr<PreparedStatement> stmt;
+	//! Whether the SQL was a single query or DML statement, which can be executed again instead of preparing the SQL
+	bool cacheable = false;
 };
 
 #include "utf8proc_wrapper.hpp"
@@ -539,6 +681,17 @@ jobject _duckdb_jdbc_prepare(JNIEnv *env, jclass, jobject conn_ref_buf, jbyteArr
 	}
 
 	auto stmt_ref = new StatementHolder();
+	switch (statements.back()->type) {
+	case StatementType::SELECT_STATEMENT:
+	case StatementType::INSERT_STATEMENT:
+	case StatementType::UPDATE_STATEMENT:
+	case StatementType::DELETE_STATEMENT:
+		// with several statements the earlier ones were executed above, the cached statement would skip them
+		stmt_ref->cacheable = statements.size() == 1;
+		break;
+	default:
+		break;
+	}
 	stmt_ref->stmt = conn_ref->Prepare(std::move(statements.back()));
 	if (stmt_ref->stmt->HasError()) {
 		string error_msg = string(stmt_ref->stmt->GetError());
@@ -556,88 +709,258 @@ jobject _duckdb_jdbc_prepare(JNIEnv *env, jclass, jobject conn_ref_buf, jbyteArr
 
 struct ResultHolder {
 	duckdb::unique_ptr<QueryResult> res;
-	duckdb::unique_ptr<DataChunk> chunk;
+	//! The most recently fetched chunks, whose memory may still be referenced from Java, the current one last
+	duckdb::vector<duckdb::unique_ptr<DataChunk>> chunks;
+	//! How many chunks are kept alive, more than one when Java prefetches chunks ahead of the consumer
+	idx_t retained_chunks = 1;
+	//! Global refs to the String[] dictionaries of top-level ENUM columns, shared by all chunks of the result
+	duckdb::vector<jobject> enum_dictionaries;
 };
 
-jobject _duckdb_jdbc_execute(JNIEnv *env, jclass, jobject stmt_ref_buf, jobjectArray params) {
-	auto stmt_ref = (StatementHolder *)env->GetDirectBufferAddress(stmt_ref_buf);
-	if (!stmt_ref) {
-		throw InvalidInputException("Invalid statement");
+// type tags of the parameters laid out by DuckDBParameters, keep in sync
+enum class ParameterType : int8_t {
+	NULL_VALUE = 0,
+	BOOLEAN = 1,
+	TINYINT = 2,
+	SMALLINT = 3,
+	INTEGER = 4,
+	BIGINT = 5,
+	FLOAT = 6,
+	DOUBLE = 7,
+	DATE = 8,
+	TIME = 9,
+	TIMESTAMP = 10,
+	TIMESTAMP_TZ = 11,
+	UUID = 12,
+	DECIMAL = 13,
+	VARCHAR = 14,
+	BLOB = 15,
+	LIST = 16
+};
+
+//! Parameter sets copied out of DuckDBParameters: a type tag and two payload longs per parameter, plus the side array
+//! with the UTF-8 strings, blobs and decimals
+struct ParameterBuffer {
+	ParameterBuffer(JNIEnv *env, jbyteArray types_j, jlongArray values_j, jobjectArray objects_j) : objects(objects_j) {
+		types.resize(env->GetArrayLength(types_j));
+		values.resize(types.size() * 2);
+		if ((idx_t)env->GetArrayLength(values_j) != values.size() ||
+		    (idx_t)env->GetArrayLength(objects_j) != types.size()) {
+			throw InvalidInputException("Invalid parameters");
+		}
+		env->GetByteArrayRegion(types_j, 0, types.size(), types.data());
+		env->GetLongArrayRegion(values_j, 0, values.size(), values.data());
 	}
-	auto res_ref = make_uniq<ResultHolder>();
-	duckdb::vector<Value> duckdb_params;
 
-	idx_t param_len = env->GetArrayLength(params);
-	if (param_len != stmt_ref->stmt->n_param) {
-		throw InvalidInputException("Parameter count mismatch");
+	duckdb::vector<jbyte> types;
+	duckdb::vector<jlong> values;
+	jobjectArray objects;
+};
+
+static Value to_duckdb_param(JNIEnv *env, const ParameterBuffer &params, idx_t idx);
+
+//! Converts a LIST parameter, either a Java primitive array copied in one go or the nested DuckDBParameters of an
+//! Object[] of arbitrary elements
+static Value to_duckdb_list_param(JNIEnv *env, ParameterType element_type, jobject elements) {
+	duckdb::vector<Value> values;
+	switch (element_type) {
+	case ParameterType::INTEGER: {
+		duckdb::vector<jint> data(env->GetArrayLength((jarray)elements));
+		env->GetIntArrayRegion((jintArray)elements, 0, data.size(), data.data());
+		values.reserve(data.size());
+		for (auto element : data) {
+			values.push_back(Value::INTEGER(element));
+		}
+		return Value::LIST(LogicalType::INTEGER, std::move(values));
+	}
+	case ParameterType::BIGINT: {
+		duckdb::vector<jlong> data(env->GetArrayLength((jarray)elements));
+		env->GetLongArrayRegion((jlongArray)elements, 0, data.size(), data.data());
+		values.reserve(data.size());
+		for (auto element : data) {
+			values.push_back(Value::BIGINT(element));
+		}
+		return Value::LIST(LogicalType::BIGINT, std::move(values));
+	}
+	case ParameterType::FLOAT: {
+		duckdb::vector<jfloat> data(env->GetArrayLength((jarray)elements));
+		env->GetFloatArrayRegion((jfloatArray)elements, 0, data.size(), data.data());
+		values.reserve(data.size());
+		for (auto element : data) {
+			values.push_back(Value::FLOAT(element));
+		}
+		return Value::LIST(LogicalType::FLOAT, std::move(values));
+	}
+	case ParameterType::DOUBLE: {
+		duckdb::vector<jdouble> data(env->GetArrayLength((jarray)elements));
+		env->GetDoubleArrayRegion((jdoubleArray)elements, 0, data.size(), data.data());
+		values.reserve(data.size());
+		for (auto element : data) {
+			values.push_back(Value::DOUBLE(element));
+		}
+		return Value::LIST(LogicalType::DOUBLE, std::move(values));
+	}
+	case ParameterType::NULL_VALUE: {
+		auto types = (jbyteArray)env->GetObjectField(elements, J_DuckParameters_types);
+		auto longs = (jlongArray)env->GetObjectField(elements, J_DuckParameters_values);
+		auto objects = (jobjectArray)env->GetObjectField(elements, J_DuckParameters_objects);
+		ParameterBuffer params(env, types, longs, objects);
+		// the elements take the type of the first non-NULL one
+		LogicalType child_type = LogicalType::SQLNULL;
+		values.reserve(params.types.size());
+		for (idx_t i = 0; i < params.types.size(); i++) {
+			values.push_back(to_duckdb_param(env, params, i));
+			if (child_type.id() == LogicalTypeId::SQLNULL) {
+				child_type = values.back().type();
+			}
+		}
+		for (auto &value : values) {
+			if (value.type() != child_type) {
+				value = value.DefaultCastAs(child_type);
+			}
+		}
+		env->DeleteLocalRef(types);
+		env->DeleteLocalRef(longs);
+		env->DeleteLocalRef(objects);
+		return Value::LIST(child_type, std::move(values));
+	}
+	default:
+		throw InvalidInputException("Unsupported list parameter type");
 	}
+}
 
-	if (param_len > 0) {
-		for (idx_t i = 0; i < param_len; i++) {
-			auto param = env->GetObjectArrayElement(params, i);
-			if (param == nullptr) {
-				duckdb_params.push_back(Value());
-				continue;
-			} else if (env->IsInstanceOf(param, J_Bool)) {
-				duckdb_params.push_back(Value::BOOLEAN(env->CallBooleanMethod(param, J_Bool_booleanValue)));
-				continue;
-			} else if (env->IsInstanceOf(param, J_Byte)) {
-				duckdb_params.push_back(Value::TINYINT(env->CallByteMethod(param, J_Byte_byteValue)));
-				continue;
-			} else if (env->IsInstanceOf(param, J_Short)) {
-				duckdb_params.push_back(Value::SMALLINT(env->CallShortMethod(param, J_Short_shortValue)));
-				continue;
-			} else if (env->IsInstanceOf(param, J_Int)) {
-				duckdb_params.push_back(Value::INTEGER(env->CallIntMethod(param, J_Int_intValue)));
-				continue;
-			} else if (env->IsInstanceOf(param, J_Long)) {
-				duckdb_params.push_back(Value::BIGINT(env->CallLongMethod(param, J_Long_longValue)));
-				continue;
-			} else if (env->IsInstanceOf(param, J_TimestampTZ)) { // Check for subclass before superclass!
-				duckdb_params.push_back(
-				    Value::TIMESTAMPTZ((timestamp_t)env->CallLongMethod(param, J_TimestampTZ_getMicrosEpoch)));
-				continue;
-			} else if (env->IsInstanceOf(param, J_DuckDBDate)) {
-				duckdb_params.push_back(
-				    Value::DATE((date_t)env->CallLongMethod(param, J_DuckDBDate_getDaysSinceEpoch)));
+static Value to_duckdb_param(JNIEnv *env, const ParameterBuffer &params, idx_t idx) {
+	auto value = params.values[idx * 2];
+	switch ((ParameterType)params.types[idx]) {
+	case ParameterType::NULL_VALUE:
+		return Value();
+	case ParameterType::BOOLEAN:
+		return Value::BOOLEAN(value != 0);
+	case ParameterType::TINYINT:
+		return Value::TINYINT((int8_t)value);
+	case ParameterType::SMALLINT:
+		return Value::SMALLINT((int16_t)value);
+	case ParameterType::INTEGER:
+		return Value::INTEGER((int32_t)value);
+	case ParameterType::BIGINT:
+		return Value::BIGINT(value);
+	case ParameterType::FLOAT: {
+		auto bits = (int32_t)value;
+		float float_value;
+		memcpy(&float_value, &bits, sizeof(float));
+		return Value::FLOAT(float_value);
+	}
+	case ParameterType::DOUBLE: {
+		double double_value;
+		memcpy(&double_value, &value, sizeof(double));
+		return Value::DOUBLE(double_value);
+	}
+	case ParameterType::DATE:
+		return Value::DATE((date_t)value);
+	case ParameterType::TIME:
+		return Value::TIME((dtime_t)value);
+	case ParameterType::TIMESTAMP:
+		return Value::TIMESTAMP((timestamp_t)value);
+	case ParameterType::TIMESTAMP_TZ:
+		return Value::TIMESTAMPTZ((timestamp_t)value);
+	case ParameterType::UUID:
+		// DuckDB stores UUIDs with the most significant bit flipped so that they sort like their string form
+		return Value::UUID(hugeint_t(value ^ NumericLimits<int64_t>::Minimum(), params.values[idx * 2 + 1]));
+	default:
+		break;
+	}
+
+	auto object = env->GetObjectArrayElement(params.objects, idx);
+	Value result;
+	switch ((ParameterType)params.types[idx]) {
+	case ParameterType::DECIMAL:
+		result = create_value_from_bigdecimal(env, object);
+		break;
+	case ParameterType::VARCHAR:
+		result = Value(byte_array_to_string(env, (jbyteArray)object));
+		break;
+	case ParameterType::BLOB:
+		result = Value::BLOB_RAW(byte_array_to_string(env, (jbyteArray)object));
+		break;
+	case ParameterType::LIST:
+		result = to_duckdb_list_param(env, (ParameterType)params.values[idx * 2], object);
+		break;
+	default:
+		env->DeleteLocalRef(object);
+		throw InvalidInputException("Unsupported parameter type");
+	}
+	env->DeleteLocalRef(object);
+	return result;
+}
 
-			} else if (env->IsInstanceOf(param, J_DuckDBTime)) {
-				duckdb_params.push_back(Value::TIME((dtime_t)env->CallLongMethod(param, J_Timestamp_getMicrosEpoch)));
+//! Converts the parameter set starting at offset, which has to match the parameter count of the statement
+static duckdb::vector<Value> to_duckdb_params(JNIEnv *env, StatementHolder *stmt_ref, const ParameterBuffer &params,
+                                              idx_t offset) {
+	auto param_len = stmt_ref->stmt->n_param;
+	if (offset + param_len > params.types.size()) {
+		throw InvalidInputException("Parameter count mismatch");
+	}
+	duckdb::vector<Value> duckdb_params;
+	duckdb_params.reserve(param_len);
+	for (idx_t i = 0; i < param_len; i++) {
+		duckdb_params.push_back(to_duckdb_param(env, params, offset + i));
+	}
+	return duckdb_params;
+}
 
-			} else if (env->IsInstanceOf(param, J_Timestamp)) {
-				duckdb_params.push_back(
-				    Value::TIMESTAMP((timestamp_t)env->CallLongMethod(param, J_Timestamp_getMicrosEpoch)));
-				continue;
-			} else if (env->IsInstanceOf(param, J_Float)) {
-				duckdb_params.push_back(Value::FLOAT(env->CallFloatMethod(param, J_Float_floatValue)));
-				continue;
-			} else if (env->IsInstanceOf(param, J_Double)) {
-				duckdb_params.push_back(Value::DOUBLE(env->CallDoubleMethod(param, J_Double_doubleValue)));
-				continue;
-			} else if (env->IsInstanceOf(param, J_Decimal)) {
-				Value val = create_value_from_bigdecimal(env, param);
-				duckdb_params.push_back(val);
-				continue;
-			} else if (env->IsInstanceOf(param, J_String)) {
-				auto param_string = jstring_to_string(env, (jstring)param);
-				duckdb_params.push_back(Value(param_string));
-			} else if (env->IsInstanceOf(param, J_ByteArray)) {
-				duckdb_params.push_back(Value::BLOB_RAW(byte_array_to_string(env, (jbyteArray)param)));
-			} else if (env->IsInstanceOf(param, J_UUID)) {
-				auto most_significant = (jlong)env->CallObjectMethod(param, J_UUID_getMostSignificantBits);
-				auto least_significant = (jlong)env->CallObjectMethod(param, J_UUID_getLeastSignificantBits);
-				duckdb_params.push_back(Value::UUID(hugeint_t(most_significant, least_significant)));
-			} else {
-				throw InvalidInputException("Unsupported parameter type");
-			}
+//! Java arrays are bound as LIST values. Where the statement expects a fixed-size ARRAY they are bound as one instead,
+//! which DuckDB only knows after binding the statement once with the actual values. So a statement that failed to
+//! bind is bound once more with LIST parameters of unknown type turned into ARRAY values of the same length.
+static duckdb::unique_ptr<QueryResult> execute_statement(PreparedStatement &stmt, duckdb::vector<Value> &params,
+                                                         bool stream_results) {
+	auto expected_types = stmt.GetExpectedParameterTypes();
+	duckdb::vector<idx_t> untyped_lists;
+	for (idx_t i = 0; i < params.size(); i++) {
+		auto &param = params[i];
+		if (param.IsNull() || param.type().id() != LogicalTypeId::LIST) {
+			continue;
+		}
+		auto expected_type = expected_types.find(std::to_string(i + 1));
+		if (expected_type == expected_types.end()) {
+			untyped_lists.push_back(i);
+		} else if (expected_type->second.id() == LogicalTypeId::ARRAY) {
+			param = param.DefaultCastAs(expected_type->second);
+		}
+	}
+
+	auto result = stmt.Execute(params, stream_results);
+	if (!result->HasError() || result->GetErrorType() != ExceptionType::BINDER) {
+		return result;
+	}
+	bool retry = false;
+	for (auto i : untyped_lists) {
+		auto &children = ListValue::GetChildren(params[i]);
+		if (!children.empty()) {
+			params[i] = Value::ARRAY(ListType::GetChildType(params[i].type()), children);
+			retry = true;
 		}
 	}
+	return retry ? stmt.Execute(params, stream_results) : std::move(result);
+}
+
+jobject _duckdb_jdbc_execute(JNIEnv *env, jclass, jobject stmt_ref_buf, jbyteArray param_types,
+                             jlongArray param_values, jobjectArray param_objects) {
+	auto stmt_ref = (StatementHolder *)env->GetDirectBufferAddress(stmt_ref_buf);
+	if (!stmt_ref) {
+		throw InvalidInputException("Invalid statement");
+	}
+	auto res_ref = make_uniq<ResultHolder>();
+	ParameterBuffer params(env, param_types, param_values, param_objects);
+	if (params.types.size() != stmt_ref->stmt->n_param) {
+		throw InvalidInputException("Parameter count mismatch");
+	}
+	auto duckdb_params = to_duckdb_params(env, stmt_ref, params, 0);
 
 	Value result;
 	bool stream_results =
 	    stmt_ref->stmt->context->TryGetCurrentSetting(JDBC_STREAM_RESULTS, result) ? result.GetValue<bool>() : false;
 
-	res_ref->res = stmt_ref->stmt->Execute(duckdb_params, stream_results);
+	res_ref->res = execute_statement(*stmt_ref->stmt, duckdb_params, stream_results);
 	if (res_ref->res->HasError()) {
 		string error_msg = string(res_ref->res->GetError());
 		res_ref->res = nullptr;
@@ -647,6 +970,62 @@ jobject _duckdb_jdbc_execute(JNIEnv *env, jclass, jobject stmt_ref_buf, jobjectA
 	return env->NewDirectByteBuffer(res_ref.release(), 0);
 }
 
+jintArray _duckdb_jdbc_execute_batch(JNIEnv *env, jclass, jobject stmt_ref_buf, jint batch_size_j,
+                                     jbyteArray param_types, jlongArray param_values, jobjectArray param_objects) {
+	auto stmt_ref = (StatementHolder *)env->GetDirectBufferAddress(stmt_ref_buf);
+	if (!stmt_ref) {
+		throw InvalidInputException("Invalid statement");
+	}
+	auto &context = *stmt_ref->stmt->context;
+	bool changed_rows = stmt_ref->stmt->GetStatementProperties().return_type == StatementReturnType::CHANGED_ROWS;
+	idx_t batch_size = batch_size_j;
+	ParameterBuffer params(env, param_types, param_values, param_objects);
+	if (params.types.size() != batch_size * stmt_ref->stmt->n_param) {
+		throw InvalidInputException("Parameter count mismatch");
+	}
+	duckdb::vector<jint> update_counts(batch_size, -1);
+
+	// outside of an explicit transaction the whole batch runs in one, instead of committing every parameter set
+	bool own_transaction = context.transaction.IsAutoCommit();
+	if (own_transaction) {
+		auto begin = context.Query("BEGIN TRANSACTION", false);
+		if (begin->HasError()) {
+			ThrowJNI(env, begin->GetError().c_str());
+			return nullptr;
+		}
+	}
+	string error_msg;
+	try {
+		for (idx_t batch_idx = 0; batch_idx < batch_size && error_msg.empty(); batch_idx++) {
+			auto duckdb_params = to_duckdb_params(env, stmt_ref, params, batch_idx * stmt_ref->stmt->n_param);
+			auto result = execute_statement(*stmt_ref->stmt, duckdb_params, false);
+			if (result->HasError()) {
+				error_msg = result->GetError();
+			} else if (changed_rows) {
+				auto &materialized = result->Cast<MaterializedQueryResult>();
+				update_counts[batch_idx] = materialized.RowCount() > 0 ? materialized.GetValue(0, 0).GetValue<int32_t>() : 0;
+			}
+		}
+	} catch (std::exception &e) {
+		ErrorData error(e);
+		error_msg = error.Message();
+	}
+	if (own_transaction) {
+		auto end = context.Query(error_msg.empty() ? "COMMIT" : "ROLLBACK", false);
+		if (error_msg.empty() && end->HasError()) {
+			error_msg = end->GetError();
+		}
+	}
+	if (!error_msg.empty()) {
+		ThrowJNI(env, error_msg.c_str());
+		return nullptr;
+	}
+
+	auto result = env->NewIntArray(batch_size);
+	env->SetIntArrayRegion(result, 0, batch_size, update_counts.data());
+	return result;
+}
+
 void _duckdb_jdbc_release(JNIEnv *env, jclass, jobject stmt_ref_buf) {
 	auto stmt_ref = (StatementHolder *)env->GetDirectBufferAddress(stmt_ref_buf);
 	if (stmt_ref) {
@@ -657,71 +1036,69 @@ void _duckdb_jdbc_release(JNIEnv *env, jclass, jobject stmt_ref_buf) {
 void _duckdb_jdbc_free_result(JNIEnv *env, jclass, jobject res_ref_buf) {
 	auto res_ref = (ResultHolder *)env->GetDirectBufferAddress(res_ref_buf);
 	if (res_ref) {
+		for (auto dictionary : res_ref->enum_dictionaries) {
+			if (dictionary) {
+				env->DeleteGlobalRef(dictionary);
+			}
+		}
 		delete res_ref;
 	}
 }
 
-static std::string type_to_jduckdb_type(LogicalType logical_type) {
-	switch (logical_type.id()) {
-	case LogicalTypeId::DECIMAL: {
-
-		uint8_t width = 0;
-		uint8_t scale = 0;
-		logical_type.GetDecimalProperties(width, scale);
-		std::string width_scale = std::to_string(width) + std::string(";") + std::to_string(scale);
-
-		auto physical_type = logical_type.InternalType();
-		switch (physical_type) {
-		case PhysicalType::INT16: {
-			string res = std::string("DECIMAL16;") + width_scale;
-			return res;
-		}
-		case PhysicalType::INT32: {
-			string res = std::string("DECIMAL32;") + width_scale;
-			return res;
-		}
-		case PhysicalType::INT64: {
-			string res = std::string("DECIMAL64;") + width_scale;
-			return res;
-		}
-		case PhysicalType::INT128: {
-			string res = std::string("DECIMAL128;") + width_scale;
-			return res;
-		}
-		default:
-			return std::string("no physical type found");
-		}
-	} break;
-	default:
-		return logical_type.ToString();
+//! The ordinal of the DuckDBColumnType a column of this type maps to, the same as DuckDBResultSetMetaData.TypeNameToType
+//! returns for the type name
+static jint column_type_id(const LogicalType &type) {
+	if (!type.HasAlias()) {
+		return column_type_ordinals_by_id[(uint8_t)type.id()];
 	}
+	auto entry = column_type_ordinals.find(type.ToString());
+	return entry == column_type_ordinals.end() ? column_type_ordinals_by_id[(uint8_t)LogicalTypeId::UNKNOWN]
+	                                            : entry->second;
 }
 
 static jobject build_meta(JNIEnv *env, size_t column_count, size_t n_param, const duckdb::vector<string> &names,
                           const duckdb::vector<LogicalType> &types, StatementProperties properties) {
-	auto name_array = env->NewObjectArray(column_count, J_String, nullptr);
-	auto type_array = env->NewObjectArray(column_count, J_String, nullptr);
-	auto type_detail_array = env->NewObjectArray(column_count, J_String, nullptr);
+	duckdb::vector<jint> type_ids(column_count);
+	// type size, width and scale of DECIMAL columns
+	duckdb::vector<jint> decimal_properties(column_count * 3, 0);
+	// the names of all columns followed by their type names, decoded by Java only when asked for
+	string strings;
+	duckdb::vector<jint> string_offsets;
+	string_offsets.reserve(column_count * 2 + 1);
 
 	for (idx_t col_idx = 0; col_idx < column_count; col_idx++) {
-		std::string col_name;
-		if (types[col_idx].id() == LogicalTypeId::ENUM) {
-			col_name = "ENUM";
-		} else {
-			col_name = types[col_idx].ToString();
+		string_offsets.push_back(strings.size());
+		strings += names[col_idx];
+	}
+	for (idx_t col_idx = 0; col_idx < column_count; col_idx++) {
+		auto &type = types[col_idx];
+		type_ids[col_idx] = column_type_id(type);
+		if (type.id() == LogicalTypeId::DECIMAL) {
+			uint8_t width = 0;
+			uint8_t scale = 0;
+			type.GetDecimalProperties(width, scale);
+			decimal_properties[col_idx * 3] = GetTypeIdSize(type.InternalType()) * 8;
+			decimal_properties[col_idx * 3 + 1] = width;
+			decimal_properties[col_idx * 3 + 2] = scale;
 		}
-
-		env->SetObjectArrayElement(name_array, col_idx,
-		                           decode_charbuffer_to_jstring(env, names[col_idx].c_str(), names[col_idx].length()));
-		env->SetObjectArrayElement(type_array, col_idx, env->NewStringUTF(col_name.c_str()));
-		env->SetObjectArrayElement(type_detail_array, col_idx,
-		                           env->NewStringUTF(type_to_jduckdb_type(types[col_idx]).c_str()));
+		string_offsets.push_back(strings.size());
+		strings += type.id() == LogicalTypeId::ENUM ? "ENUM" : type.ToString();
 	}
+	string_offsets.push_back(strings.size());
+
+	auto type_id_array = env->NewIntArray(column_count);
+	env->SetIntArrayRegion(type_id_array, 0, column_count, type_ids.data());
+	auto decimal_array = env->NewIntArray(decimal_properties.size());
+	env->SetIntArrayRegion(decimal_array, 0, decimal_properties.size(), decimal_properties.data());
+	auto string_array = env->NewByteArray(strings.size());
+	env->SetByteArrayRegion(string_array, 0, strings.size(), (const jbyte *)strings.data());
+	auto offset_array = env->NewIntArray(string_offsets.size());
+	env->SetIntArrayRegion(offset_array, 0, string_offsets.size(), string_offsets.data());
 
 	auto return_type = env->NewStringUTF(StatementReturnTypeToString(properties.return_type).c_str());
 
-	return env->NewObject(J_DuckResultSetMeta, J_DuckResultSetMeta_init, n_param, column_count, name_array, type_array,
-	                      type_detail_array, return_type);
+	return env->NewObject(J_DuckResultSetMeta, J_DuckResultSetMeta_init, n_param, column_count, type_id_array,
+	                      decimal_array, string_array, offset_array, return_type);
 }
 
 jobject _duckdb_jdbc_query_result_meta(JNIEnv *env, jclass, jobject res_ref_buf) {
@@ -749,9 +1126,61 @@ jobject _duckdb_jdbc_prepared_statement_meta(JNIEnv *env, jclass, jobject stmt_r
 	                  stmt->GetStatementProperties());
 }
 
-jobject ProcessVector(JNIEnv *env, Connection *conn_ref, Vector &vec, idx_t row_count);
+jboolean _duckdb_jdbc_prepared_statement_cacheable(JNIEnv *env, jclass, jobject stmt_ref_buf) {
+	auto stmt_ref = (StatementHolder *)env->GetDirectBufferAddress(stmt_ref_buf);
+	if (!stmt_ref || !stmt_ref->stmt || stmt_ref->stmt->HasError()) {
+		throw InvalidInputException("Invalid statement");
+	}
+	return stmt_ref->cacheable;
+}
+
+//! Whether the catalog changed since the statement was bound, so that DuckDB would bind it again on execution and its
+//! result columns may differ from the ones it was prepared with
+jboolean _duckdb_jdbc_prepared_statement_outdated(JNIEnv *env, jclass, jobject stmt_ref_buf) {
+	auto stmt_ref = (StatementHolder *)env->GetDirectBufferAddress(stmt_ref_buf);
+	if (!stmt_ref || !stmt_ref->stmt || stmt_ref->stmt->HasError()) {
+		throw InvalidInputException("Invalid statement");
+	}
+	auto &stmt = *stmt_ref->stmt;
+	return Catalog::GetSystemCatalog(*stmt.context).GetCatalogVersion() != stmt.data->catalog_version;
+}
+
+jobject ProcessVector(JNIEnv *env, ClientContext &context, Vector &vec, idx_t row_count,
+                      jobject *enum_dictionary_cache = nullptr);
+
+/**
+ * VARCHAR dictionary vectors are handed to Java as codes plus dictionary, everything else is flattened.
+ */
+static bool is_string_dictionary(Vector &vec) {
+	return vec.GetVectorType() == VectorType::DICTIONARY_VECTOR && vec.GetType().id() == LogicalTypeId::VARCHAR &&
+	       !vec.GetType().HasAlias() &&
+	       DictionaryVector::Child(vec).GetVectorType() == VectorType::FLAT_VECTOR;
+}
+
+/**
+ * Fetches chunks until at least fetch_size rows are collected or the result is exhausted. Up to STANDARD_VECTOR_SIZE
+ * rows the chunk is returned as produced by DuckDB, larger transfers are concatenated into one chunk.
+ */
+static duckdb::unique_ptr<DataChunk> fetch_rows(QueryResult &result, idx_t fetch_size) {
+	auto chunk = result.FetchRaw();
+	if (!chunk || chunk->size() >= fetch_size) {
+		return chunk;
+	}
+	auto combined = make_uniq<DataChunk>();
+	// starts at the standard capacity and grows while appending, so a huge fetch size does not allocate up front
+	combined->Initialize(Allocator::DefaultAllocator(), chunk->GetTypes());
+	combined->Append(*chunk, true);
+	while (combined->size() < fetch_size) {
+		chunk = result.FetchRaw();
+		if (!chunk || chunk->size() == 0) {
+			break;
+		}
+		combined->Append(*chunk, true);
+	}
+	return combined;
+}
 
-jobjectArray _duckdb_jdbc_fetch(JNIEnv *env, jclass, jobject res_ref_buf, jobject conn_ref_buf) {
+jobjectArray _duckdb_jdbc_fetch(JNIEnv *env, jclass, jobject res_ref_buf, jobject conn_ref_buf, jint fetch_size) {
 	auto res_ref = (ResultHolder *)env->GetDirectBufferAddress(res_ref_buf);
 	if (!res_ref || !res_ref->res || res_ref->res->HasError()) {
 		throw InvalidInputException("Invalid result set");
@@ -762,37 +1191,237 @@ jobjectArray _duckdb_jdbc_fetch(JNIEnv *env, jclass, jobject res_ref_buf, jobjec
 		return nullptr;
 	}
 
-	res_ref->chunk = res_ref->res->Fetch();
-	if (!res_ref->chunk) {
-		res_ref->chunk = make_uniq<DataChunk>();
+	auto fetched = fetch_rows(*res_ref->res, fetch_size > 0 ? (idx_t)fetch_size : 1);
+	if (!fetched) {
+		fetched = make_uniq<DataChunk>();
 	}
-	auto row_count = res_ref->chunk->size();
-	auto vec_array = (jobjectArray)env->NewObjectArray(res_ref->chunk->ColumnCount(), J_DuckVector, nullptr);
-
-	for (idx_t col_idx = 0; col_idx < res_ref->chunk->ColumnCount(); col_idx++) {
-		auto &vec = res_ref->chunk->data[col_idx];
+	res_ref->chunks.push_back(std::move(fetched));
+	if (res_ref->chunks.size() > res_ref->retained_chunks) {
+		res_ref->chunks.erase(res_ref->chunks.begin(),
+		                      res_ref->chunks.begin() + (res_ref->chunks.size() - res_ref->retained_chunks));
+	}
+	auto &chunk = *res_ref->chunks.back();
+	auto row_count = chunk.size();
+	auto vec_array = (jobjectArray)env->NewObjectArray(chunk.ColumnCount(), J_DuckVector, nullptr);
+	res_ref->enum_dictionaries.resize(chunk.ColumnCount(), nullptr);
+
+	for (idx_t col_idx = 0; col_idx < chunk.ColumnCount(); col_idx++) {
+		auto &vec = chunk.data[col_idx];
+		if (!is_string_dictionary(vec)) {
+			vec.Flatten(row_count);
+		}
 
-		auto jvec = ProcessVector(env, conn_ref, vec, row_count);
+		auto jvec = ProcessVector(env, *conn_ref->context, vec, row_count, &res_ref->enum_dictionaries[col_idx]);
 
 		env->SetObjectArrayElement(vec_array, col_idx, jvec);
 	}
 
 	return vec_array;
 }
-jobject ProcessVector(JNIEnv *env, Connection *conn_ref, Vector &vec, idx_t row_count) {
-	auto type_str = env->NewStringUTF(type_to_jduckdb_type(vec.GetType()).c_str());
-	// construct nullmask
-	auto null_array = env->NewBooleanArray(row_count);
-	jboolean *null_unique_array = env->GetBooleanArrayElements(null_array, nullptr);
+/**
+ * Packs the strings of a VARCHAR vector back-to-back into one byte array. offsets[i] and offsets[i + 1] delimit the
+ * UTF-8 bytes of row i, NULL rows are empty. Java decodes a row only when it is actually read as a String.
+ */
+static void process_string_vector(JNIEnv *env, Vector &vec, idx_t row_count, jobject &string_data,
+                                  jintArray &string_offsets) {
+	auto strings = FlatVector::GetData<string_t>(vec);
+	auto &validity = FlatVector::Validity(vec);
+
+	duckdb::vector<jint> offsets(row_count + 1);
+	idx_t total_size = 0;
+	for (idx_t row_idx = 0; row_idx < row_count; row_idx++) {
+		offsets[row_idx] = (jint)total_size;
+		if (validity.RowIsValid(row_idx)) {
+			total_size += strings[row_idx].GetSize();
+		}
+	}
+	if (total_size > (idx_t)NumericLimits<int32_t>::Maximum()) {
+		throw InvalidInputException("String data of a single vector exceeds 2GB");
+	}
+	offsets[row_count] = (jint)total_size;
+
+	auto bytes = env->NewByteArray((jsize)total_size);
+	if (!bytes) {
+		env->ExceptionClear();
+		throw OutOfMemoryException("Could not allocate %d bytes of string data", total_size);
+	}
+	auto data_ptr = (char *)env->GetPrimitiveArrayCritical(bytes, nullptr);
+	for (idx_t row_idx = 0; row_idx < row_count; row_idx++) {
+		if (validity.RowIsValid(row_idx)) {
+			memcpy(data_ptr + offsets[row_idx], strings[row_idx].GetData(), strings[row_idx].GetSize());
+		}
+	}
+	env->ReleasePrimitiveArrayCritical(bytes, data_ptr, 0);
+	string_data = bytes;
+
+	string_offsets = env->NewIntArray(row_count + 1);
+	env->SetIntArrayRegion(string_offsets, 0, row_count + 1, offsets.data());
+}
+
+static jobjectArray create_enum_dictionary(JNIEnv *env, const LogicalType &type) {
+	auto size = EnumType::GetSize(type);
+	auto dictionary = env->NewObjectArray(size, J_String, nullptr);
+	for (idx_t i = 0; i < size; i++) {
+		auto value = EnumType::GetString(type, i);
+		auto j_str = decode_charbuffer_to_jstring(env, value.GetData(), value.GetSize());
+		env->SetObjectArrayElement(dictionary, i, j_str);
+		env->DeleteLocalRef(j_str);
+	}
+	return dictionary;
+}
+
+template <class T>
+static void copy_enum_codes(Vector &vec, idx_t row_count, duckdb::vector<jint> &codes) {
+	auto data = FlatVector::GetData<T>(vec);
+	for (idx_t row_idx = 0; row_idx < row_count; row_idx++) {
+		codes[row_idx] = (jint)data[row_idx];
+	}
+}
+
+/**
+ * Hands an ENUM vector to Java as its codes plus a String[] of the enum values. The dictionary only depends on the
+ * type, so when a cache slot is given it is created once and reused for all later chunks of the result.
+ */
+static void process_enum_vector(JNIEnv *env, Vector &vec, idx_t row_count, jobject *enum_dictionary_cache,
+                                jobject &dictionary, jintArray &dictionary_codes) {
+	duckdb::vector<jint> codes(row_count);
+	switch (vec.GetType().InternalType()) {
+	case PhysicalType::UINT8:
+		copy_enum_codes<uint8_t>(vec, row_count, codes);
+		break;
+	case PhysicalType::UINT16:
+		copy_enum_codes<uint16_t>(vec, row_count, codes);
+		break;
+	case PhysicalType::UINT32:
+		copy_enum_codes<uint32_t>(vec, row_count, codes);
+		break;
+	default:
+		throw InternalException("Invalid physical type for enum");
+	}
+	dictionary_codes = env->NewIntArray(row_count);
+	env->SetIntArrayRegion(dictionary_codes, 0, row_count, codes.data());
+
+	if (!enum_dictionary_cache) {
+		dictionary = create_enum_dictionary(env, vec.GetType());
+		return;
+	}
+	if (!*enum_dictionary_cache) {
+		auto local_dictionary = create_enum_dictionary(env, vec.GetType());
+		*enum_dictionary_cache = env->NewGlobalRef(local_dictionary);
+		env->DeleteLocalRef(local_dictionary);
+	}
+	dictionary = *enum_dictionary_cache;
+}
+
+/**
+ * Hands a VARCHAR dictionary vector to Java as codes into the distinct dictionary entries referenced by this chunk,
+ * so each of those is decoded into a String only once.
+ */
+static void process_string_dictionary(JNIEnv *env, Vector &vec, idx_t row_count, jobject &dictionary,
+                                      jintArray &dictionary_codes) {
+	auto &sel = DictionaryVector::SelVector(vec);
+	auto &child = DictionaryVector::Child(vec);
+	auto strings = FlatVector::GetData<string_t>(child);
+	auto &validity = FlatVector::Validity(child);
+
+	duckdb::vector<jint> codes(row_count, -1);
+	duckdb::vector<idx_t> entries;
+	duckdb::unordered_map<idx_t, jint> entry_codes;
 	for (idx_t row_idx = 0; row_idx < row_count; row_idx++) {
-		null_unique_array[row_idx] = FlatVector::IsNull(vec, row_idx);
+		auto child_idx = sel.get_index(row_idx);
+		if (!validity.RowIsValid(child_idx)) {
+			continue;
+		}
+		auto entry = entry_codes.find(child_idx);
+		if (entry == entry_codes.end()) {
+			entry = entry_codes.emplace(child_idx, (jint)entries.size()).first;
+			entries.push_back(child_idx);
+		}
+		codes[row_idx] = entry->second;
+	}
+
+	auto strings_array = env->NewObjectArray(entries.size(), J_String, nullptr);
+	for (idx_t i = 0; i < entries.size(); i++) {
+		auto &d_str = strings[entries[i]];
+		auto j_str = decode_charbuffer_to_jstring(env, d_str.GetData(), d_str.GetSize());
+		env->SetObjectArrayElement(strings_array, i, j_str);
+		env->DeleteLocalRef(j_str);
+	}
+	dictionary = strings_array;
+	dictionary_codes = env->NewIntArray(row_count);
+	env->SetIntArrayRegion(dictionary_codes, 0, row_count, codes.data());
+}
+
+// Returns the validity of the vector as DuckDB's 64-bit word bitmap, or null if no row is NULL. Flat vectors expose
+// their own mask, which lives as long as the chunk, other vectors get a copy on the Java heap resolved through their
+// selection.
+static jobject process_validity(JNIEnv *env, Vector &vec, idx_t row_count) {
+	auto mask_size = ValidityMask::ValidityMaskSize(row_count);
+	if (vec.GetVectorType() == VectorType::FLAT_VECTOR) {
+		auto &validity = FlatVector::Validity(vec);
+		if (validity.CheckAllValid(row_count)) {
+			return nullptr;
+		}
+		return env->NewDirectByteBuffer(validity.GetData(), mask_size * sizeof(validity_t));
+	}
+	UnifiedVectorFormat format;
+	vec.ToUnifiedFormat(row_count, format);
+	if (format.validity.AllValid()) {
+		return nullptr;
+	}
+	duckdb::vector<validity_t> words(mask_size);
+	ValidityMask result(words.data());
+	result.SetAllValid(row_count);
+	bool has_null = false;
+	for (idx_t row_idx = 0; row_idx < row_count; row_idx++) {
+		if (!format.validity.RowIsValid(format.sel->get_index(row_idx))) {
+			result.SetInvalidUnsafe(row_idx);
+			has_null = true;
+		}
+	}
+	if (!has_null) {
+		return nullptr;
+	}
+
+	auto byte_count = (jsize)(mask_size * sizeof(validity_t));
+	auto bytes = env->NewByteArray(byte_count);
+	if (!bytes) {
+		env->ExceptionClear();
+		throw OutOfMemoryException("Could not allocate %d bytes of validity", byte_count);
+	}
+	env->SetByteArrayRegion(bytes, 0, byte_count, (const jbyte *)words.data());
+	auto validity_buf = env->CallStaticObjectMethod(J_ByteBuffer, J_ByteBuffer_wrap, bytes);
+	env->DeleteLocalRef(bytes);
+	if (!validity_buf) {
+		env->ExceptionClear();
+		throw OutOfMemoryException("Could not allocate the validity of a vector");
 	}
-	env->ReleaseBooleanArrayElements(null_array, null_unique_array, 0);
+	return validity_buf;
+}
 
-	auto jvec = env->NewObject(J_DuckVector, J_DuckVector_init, type_str, (int)row_count, null_array);
+jobject ProcessVector(JNIEnv *env, ClientContext &context, Vector &vec, idx_t row_count,
+                      jobject *enum_dictionary_cache) {
+	auto validity = process_validity(env, vec, row_count);
+
+	// vectors of ENUM type read as UNKNOWN, which falls back to their strings
+	auto &vec_type = vec.GetType();
+	jint column_type = vec_type.id() == LogicalTypeId::ENUM ? column_type_ordinals_by_id[(uint8_t)LogicalTypeId::UNKNOWN]
+	                                                        : column_type_id(vec_type);
+	uint8_t decimal_width = 0;
+	uint8_t decimal_scale = 0;
+	if (vec_type.id() == LogicalTypeId::DECIMAL) {
+		column_type = column_type_ordinals_by_id[(uint8_t)LogicalTypeId::DECIMAL];
+		vec_type.GetDecimalProperties(decimal_width, decimal_scale);
+	}
+	auto jvec = env->NewObject(J_DuckVector, J_DuckVector_init, column_type, (jint)decimal_width, (jint)decimal_scale,
+	                           (jint)row_count, validity);
 
 	jobject constlen_data = nullptr;
 	jobjectArray varlen_data = nullptr;
+	jobject string_data = nullptr;
+	jintArray string_offsets = nullptr;
+	jobject dictionary = nullptr;
+	jintArray dictionary_codes = nullptr;
 
 	// this allows us to treat aliased (usually extension) types as strings
 	auto type = vec.GetType();
@@ -876,36 +1505,24 @@ jobject ProcessVector(JNIEnv *env, Connection *conn_ref, Vector &vec, idx_t row_
 		constlen_data = env->NewDirectByteBuffer(FlatVector::GetData(vec), row_count * sizeof(timestamp_t));
 		break;
 	case LogicalTypeId::ENUM:
-		varlen_data = env->NewObjectArray(row_count, J_String, nullptr);
-		for (idx_t row_idx = 0; row_idx < row_count; row_idx++) {
-			if (FlatVector::IsNull(vec, row_idx)) {
-				continue;
-			}
-			auto d_str = vec.GetValue(row_idx).ToString();
-			jstring j_str = env->NewStringUTF(d_str.c_str());
-			env->SetObjectArrayElement(varlen_data, row_idx, j_str);
-		}
+		process_enum_vector(env, vec, row_count, enum_dictionary_cache, dictionary, dictionary_codes);
 		break;
 	case LogicalTypeId::UNION:
 	case LogicalTypeId::STRUCT: {
-		varlen_data = env->NewObjectArray(row_count, J_DuckStruct, nullptr);
-
+		// rows are exposed through the child vectors, DuckDBStruct views are only created when a row is requested
 		auto &entries = StructVector::GetEntries(vec);
 		auto columns = env->NewObjectArray(entries.size(), J_DuckVector, nullptr);
 		auto names = env->NewObjectArray(entries.size(), J_String, nullptr);
 
 		for (idx_t entry_i = 0; entry_i < entries.size(); entry_i++) {
-			auto j_vec = ProcessVector(env, conn_ref, *entries[entry_i], row_count);
+			auto j_vec = ProcessVector(env, context, *entries[entry_i], row_count);
 			env->SetObjectArrayElement(columns, entry_i, j_vec);
 			env->SetObjectArrayElement(names, entry_i,
 			                           env->NewStringUTF(StructType::GetChildName(vec.GetType(), entry_i).c_str()));
 		}
-		for (idx_t row_idx = 0; row_idx < row_count; row_idx++) {
-			env->SetObjectArrayElement(varlen_data, row_idx,
-			                           env->NewObject(J_DuckStruct, J_DuckStruct_init, names, columns, row_idx,
-			                                          env->NewStringUTF(vec.GetType().ToString().c_str())));
-		}
-
+		env->SetObjectField(jvec, J_DuckVector_struct_children, columns);
+		env->SetObjectField(jvec, J_DuckVector_struct_keys, names);
+		env->SetObjectField(jvec, J_DuckVector_struct_type_name, env->NewStringUTF(vec.GetType().ToString().c_str()));
 		break;
 	}
 	case LogicalTypeId::BLOB:
@@ -923,76 +1540,64 @@ jobject ProcessVector(JNIEnv *env, Connection *conn_ref, Vector &vec, idx_t row_
 	case LogicalTypeId::UUID:
 		constlen_data = env->NewDirectByteBuffer(FlatVector::GetData(vec), row_count * sizeof(hugeint_t));
 		break;
+	// the elements of all rows are in one child vector, DuckDBArray views are only created when a row is requested
 	case LogicalTypeId::ARRAY: {
-		varlen_data = env->NewObjectArray(row_count, J_DuckArray, nullptr);
 		auto &array_vector = ArrayVector::GetEntry(vec);
-		auto total_size = row_count * ArrayType::GetSize(vec.GetType());
-		auto j_vec = ProcessVector(env, conn_ref, array_vector, total_size);
-
-		auto limit = ArrayType::GetSize(vec.GetType());
-
-		for (idx_t row_idx = 0; row_idx < row_count; row_idx++) {
-			if (FlatVector::IsNull(vec, row_idx)) {
-				continue;
-			}
-
-			auto offset = row_idx * limit;
+		auto array_size = ArrayType::GetSize(vec.GetType());
+		auto j_vec = ProcessVector(env, context, array_vector, row_count * array_size);
 
-			auto j_obj = env->NewObject(J_DuckArray, J_DuckArray_init, j_vec, offset, limit);
-
-			env->SetObjectArrayElement(varlen_data, row_idx, j_obj);
-		}
+		env->SetObjectField(jvec, J_DuckVector_list_child, j_vec);
+		env->SetIntField(jvec, J_DuckVector_array_size, (jint)array_size);
 		break;
 	}
 	case LogicalTypeId::MAP:
 	case LogicalTypeId::LIST: {
-		varlen_data = env->NewObjectArray(row_count, J_DuckArray, nullptr);
-
-		auto list_entries = FlatVector::GetData<list_entry_t>(vec);
+		// the offset and length of each row's elements, as list_entry_t
+		constlen_data = env->NewDirectByteBuffer(FlatVector::GetData(vec), row_count * sizeof(list_entry_t));
 
 		auto list_size = ListVector::GetListSize(vec);
 		auto &list_vector = ListVector::GetEntry(vec);
-		auto j_vec = ProcessVector(env, conn_ref, list_vector, list_size);
+		auto j_vec = ProcessVector(env, context, list_vector, list_size);
 
-		for (idx_t row_idx = 0; row_idx < row_count; row_idx++) {
-			if (FlatVector::IsNull(vec, row_idx)) {
-				continue;
-			}
-
-			auto offset = list_entries[row_idx].offset;
-			auto limit = list_entries[row_idx].length;
-
-			auto j_obj = env->NewObject(J_DuckArray, J_DuckArray_init, j_vec, offset, limit);
-
-			env->SetObjectArrayElement(varlen_data, row_idx, j_obj);
-		}
+		env->SetObjectField(jvec, J_DuckVector_list_child, j_vec);
 		break;
 	}
 	default: {
 		Vector string_vec(LogicalType::VARCHAR);
-		VectorOperations::Cast(*conn_ref->context, vec, string_vec, row_count);
+		VectorOperations::Cast(context, vec, string_vec, row_count);
 		vec.ReferenceAndSetType(string_vec);
 		// fall through on purpose
 	}
 	case LogicalTypeId::VARCHAR:
-		varlen_data = env->NewObjectArray(row_count, J_String, nullptr);
-		for (idx_t row_idx = 0; row_idx < row_count; row_idx++) {
-			if (FlatVector::IsNull(vec, row_idx)) {
-				continue;
-			}
-			auto d_str = ((string_t *)FlatVector::GetData(vec))[row_idx];
-			auto j_str = decode_charbuffer_to_jstring(env, d_str.GetData(), d_str.GetSize());
-			env->SetObjectArrayElement(varlen_data, row_idx, j_str);
+		if (vec.GetVectorType() == VectorType::DICTIONARY_VECTOR) {
+			process_string_dictionary(env, vec, row_count, dictionary, dictionary_codes);
+		} else {
+			process_string_vector(env, vec, row_count, string_data, string_offsets);
 		}
 		break;
 	}
 
 	env->SetObjectField(jvec, J_DuckVector_constlen, constlen_data);
 	env->SetObjectField(jvec, J_DuckVector_varlen, varlen_data);
+	env->SetObjectField(jvec, J_DuckVector_string_data, string_data);
+	env->SetObjectField(jvec, J_DuckVector_string_offsets, string_offsets);
+	env->SetObjectField(jvec, J_DuckVector_dictionary, dictionary);
+	env->SetObjectField(jvec, J_DuckVector_dictionary_codes, dictionary_codes);
 
 	return jvec;
 }
 
+void _duckdb_jdbc_retain_chunks(JNIEnv *env, jclass, jobject res_ref_buf, jint chunk_count) {
+	auto res_ref = (ResultHolder *)env->GetDirectBufferAddress(res_ref_buf);
+	if (!res_ref || !res_ref->res || res_ref->res->HasError()) {
+		throw InvalidInputException("Invalid result set");
+	}
+	if (chunk_count < 1) {
+		throw InvalidInputException("At least one chunk has to be retained");
+	}
+	res_ref->retained_chunks = chunk_count;
+}
+
 jint _duckdb_jdbc_fetch_size(JNIEnv *, jclass) {
 	return STANDARD_VECTOR_SIZE;
 }
@@ -1088,6 +1693,239 @@ void _duckdb_jdbc_appender_append_null(JNIEnv *env, jclass, jobject appender_ref
 	get_appender(env, appender_ref_buf)->Append<std::nullptr_t>(nullptr);
 }
 
+/**
+ * Picks the type a Java column array is copied into before it is handed to the appender. Temporal targets take the
+ * raw epoch values from int[]/long[] columns as-is, everything else is cast from the natural type of the array.
+ */
+static LogicalType get_column_array_type(JNIEnv *env, jobject column, const LogicalType &target, idx_t col_idx) {
+	if (env->IsInstanceOf(column, J_BooleanArray)) {
+		return LogicalType::BOOLEAN;
+	} else if (env->IsInstanceOf(column, J_ByteArray)) {
+		return LogicalType::TINYINT;
+	} else if (env->IsInstanceOf(column, J_ShortArray)) {
+		return LogicalType::SMALLINT;
+	} else if (env->IsInstanceOf(column, J_IntArray)) {
+		return target.id() == LogicalTypeId::DATE ? target : LogicalType::INTEGER;
+	} else if (env->IsInstanceOf(column, J_LongArray)) {
+		switch (target.id()) {
+		case LogicalTypeId::TIME:
+		case LogicalTypeId::TIMESTAMP_SEC:
+		case LogicalTypeId::TIMESTAMP_MS:
+		case LogicalTypeId::TIMESTAMP:
+		case LogicalTypeId::TIMESTAMP_NS:
+		case LogicalTypeId::TIMESTAMP_TZ:
+			return target;
+		default:
+			return LogicalType::BIGINT;
+		}
+	} else if (env->IsInstanceOf(column, J_FloatArray)) {
+		return LogicalType::FLOAT;
+	} else if (env->IsInstanceOf(column, J_DoubleArray)) {
+		return LogicalType::DOUBLE;
+	} else if (env->IsInstanceOf(column, J_ByteArrayArray)) {
+		return target.id() == LogicalTypeId::BLOB ? LogicalType::BLOB : LogicalType::VARCHAR;
+	}
+	throw InvalidInputException("Unsupported array type for column %d", col_idx + 1);
+}
+
+static void copy_column_array(JNIEnv *env, jobject column, jbooleanArray null_mask, Vector &vec, idx_t offset,
+                              idx_t count) {
+	auto data = FlatVector::GetData(vec);
+	switch (vec.GetType().InternalType()) {
+	case PhysicalType::BOOL:
+		env->GetBooleanArrayRegion((jbooleanArray)column, offset, count, (jboolean *)data);
+		break;
+	case PhysicalType::INT8:
+		env->GetByteArrayRegion((jbyteArray)column, offset, count, (jbyte *)data);
+		break;
+	case PhysicalType::INT16:
+		env->GetShortArrayRegion((jshortArray)column, offset, count, (jshort *)data);
+		break;
+	case PhysicalType::INT32:
+		env->GetIntArrayRegion((jintArray)column, offset, count, (jint *)data);
+		break;
+	case PhysicalType::INT64:
+		env->GetLongArrayRegion((jlongArray)column, offset, count, (jlong *)data);
+		break;
+	case PhysicalType::FLOAT:
+		env->GetFloatArrayRegion((jfloatArray)column, offset, count, (jfloat *)data);
+		break;
+	case PhysicalType::DOUBLE:
+		env->GetDoubleArrayRegion((jdoubleArray)column, offset, count, (jdouble *)data);
+		break;
+	case PhysicalType::VARCHAR: {
+		auto strings = (string_t *)data;
+		duckdb::vector<char> bytes;
+		for (idx_t row_idx = 0; row_idx < count; row_idx++) {
+			auto element = (jbyteArray)env->GetObjectArrayElement((jobjectArray)column, offset + row_idx);
+			if (element == nullptr) {
+				FlatVector::SetNull(vec, row_idx, true);
+				continue;
+			}
+			idx_t len = env->GetArrayLength(element);
+			bytes.resize(len);
+			env->GetByteArrayRegion(element, 0, len, (jbyte *)bytes.data());
+			env->DeleteLocalRef(element);
+			if (vec.GetType().id() == LogicalTypeId::VARCHAR &&
+			    Utf8Proc::Analyze(bytes.data(), len) == UnicodeType::INVALID) {
+				throw InvalidInputException("Invalid UTF-8 string in column array");
+			}
+			strings[row_idx] = StringVector::AddStringOrBlob(vec, bytes.data(), len);
+		}
+		break;
+	}
+	default:
+		throw InternalException("Unsupported physical type for column array");
+	}
+
+	if (null_mask != nullptr) {
+		duckdb::vector<jboolean> nulls(count);
+		env->GetBooleanArrayRegion(null_mask, offset, count, nulls.data());
+		for (idx_t row_idx = 0; row_idx < count; row_idx++) {
+			if (nulls[row_idx]) {
+				FlatVector::SetNull(vec, row_idx, true);
+			}
+		}
+	}
+}
+
+void _duckdb_jdbc_appender_append_columns(JNIEnv *env, jclass, jobject appender_ref_buf, jobjectArray columns_j,
+                                          jobjectArray null_masks_j, jint row_count) {
+	auto appender = get_appender(env, appender_ref_buf);
+	auto &types = appender->GetTypes();
+
+	idx_t column_count = env->GetArrayLength(columns_j);
+	if (column_count != types.size()) {
+		throw InvalidInputException("Column count mismatch: appender expects %d columns, got %d", types.size(),
+		                            column_count);
+	}
+
+	duckdb::vector<jobject> columns;
+	duckdb::vector<jbooleanArray> null_masks;
+	duckdb::vector<LogicalType> source_types;
+	for (idx_t col_idx = 0; col_idx < column_count; col_idx++) {
+		auto column = env->GetObjectArrayElement(columns_j, col_idx);
+		if (column == nullptr) {
+			throw InvalidInputException("Column %d is null", col_idx + 1);
+		}
+		// checks that the column is an array before it is used as one
+		source_types.push_back(get_column_array_type(env, column, types[col_idx], col_idx));
+		if ((idx_t)env->GetArrayLength((jarray)column) < (idx_t)row_count) {
+			throw InvalidInputException("Column %d has fewer than %d rows", col_idx + 1, row_count);
+		}
+		auto null_mask =
+		    null_masks_j == nullptr ? nullptr : (jbooleanArray)env->GetObjectArrayElement(null_masks_j, col_idx);
+		if (null_mask != nullptr && env->GetArrayLength(null_mask) < row_count) {
+			throw InvalidInputException("Null mask of column %d has fewer than %d rows", col_idx + 1, row_count);
+		}
+		columns.push_back(column);
+		null_masks.push_back(null_mask);
+	}
+
+	DataChunk source;
+	source.Initialize(Allocator::DefaultAllocator(), source_types);
+	bool needs_cast = source_types != types;
+	DataChunk cast_chunk;
+	if (needs_cast) {
+		cast_chunk.Initialize(Allocator::DefaultAllocator(), types);
+	}
+
+	for (idx_t offset = 0; offset < (idx_t)row_count; offset += STANDARD_VECTOR_SIZE) {
+		auto count = MinValue<idx_t>(STANDARD_VECTOR_SIZE, row_count - offset);
+		source.Reset();
+		for (idx_t col_idx = 0; col_idx < column_count; col_idx++) {
+			copy_column_array(env, columns[col_idx], null_masks[col_idx], source.data[col_idx], offset, count);
+		}
+		source.SetCardinality(count);
+		if (!needs_cast) {
+			appender->AppendDataChunk(source);
+			continue;
+		}
+		cast_chunk.Reset();
+		for (idx_t col_idx = 0; col_idx < column_count; col_idx++) {
+			if (source_types[col_idx] == types[col_idx]) {
+				cast_chunk.data[col_idx].Reference(source.data[col_idx]);
+			} else {
+				VectorOperations::DefaultCast(source.data[col_idx], cast_chunk.data[col_idx], count, true);
+			}
+		}
+		cast_chunk.SetCardinality(count);
+		appender->AppendDataChunk(cast_chunk);
+	}
+}
+
+jintArray _duckdb_jdbc_appender_column_widths(JNIEnv *env, jclass, jobject appender_ref_buf) {
+	auto &types = get_appender(env, appender_ref_buf)->GetTypes();
+	auto widths = env->NewIntArray(types.size());
+	duckdb::vector<jint> widths_data;
+	for (auto &type : types) {
+		auto physical_type = type.InternalType();
+		widths_data.push_back(TypeIsConstantSize(physical_type) ? (jint)GetTypeIdSize(physical_type) : 0);
+	}
+	env->SetIntArrayRegion(widths, 0, widths_data.size(), widths_data.data());
+	return widths;
+}
+
+void _duckdb_jdbc_appender_append_direct(JNIEnv *env, jclass, jobject appender_ref_buf, jobjectArray data_j,
+                                         jobjectArray validity_j, jint row_count) {
+	auto appender = get_appender(env, appender_ref_buf);
+	auto &types = appender->GetTypes();
+
+	idx_t column_count = env->GetArrayLength(data_j);
+	if (column_count != types.size() || (idx_t)env->GetArrayLength(validity_j) != column_count) {
+		throw InvalidInputException("Column count mismatch: appender expects %d columns, got %d", types.size(),
+		                            column_count);
+	}
+
+	duckdb::vector<data_ptr_t> data;
+	duckdb::vector<validity_t *> validity;
+	for (idx_t col_idx = 0; col_idx < column_count; col_idx++) {
+		auto physical_type = types[col_idx].InternalType();
+		if (!TypeIsConstantSize(physical_type)) {
+			throw InvalidInputException("Column %d of type %s is not fixed-width", col_idx + 1,
+			                            types[col_idx].ToString());
+		}
+		auto data_buf = env->GetObjectArrayElement(data_j, col_idx);
+		auto data_ptr = data_buf == nullptr ? nullptr : (data_ptr_t)env->GetDirectBufferAddress(data_buf);
+		if (!data_ptr || env->GetDirectBufferCapacity(data_buf) < (jlong)(row_count * GetTypeIdSize(physical_type))) {
+			throw InvalidInputException("Data buffer of column %d is not a direct buffer of %d rows", col_idx + 1,
+			                            row_count);
+		}
+		data.push_back(data_ptr);
+
+		// a missing validity buffer means the column has no NULL values
+		auto validity_buf = env->GetObjectArrayElement(validity_j, col_idx);
+		validity_t *validity_ptr = nullptr;
+		if (validity_buf != nullptr) {
+			validity_ptr = (validity_t *)env->GetDirectBufferAddress(validity_buf);
+			auto validity_size = ValidityMask::ValidityMaskSize(row_count);
+			if (!validity_ptr || env->GetDirectBufferCapacity(validity_buf) < (jlong)validity_size) {
+				throw InvalidInputException("Validity buffer of column %d is not a direct buffer of %d rows",
+				                            col_idx + 1, row_count);
+			}
+		}
+		validity.push_back(validity_ptr);
+	}
+
+	// the vectors point straight into the Java buffers, one STANDARD_VECTOR_SIZE slice at a time
+	DataChunk chunk;
+	chunk.InitializeEmpty(types);
+	for (idx_t offset = 0; offset < (idx_t)row_count; offset += STANDARD_VECTOR_SIZE) {
+		auto count = MinValue<idx_t>(STANDARD_VECTOR_SIZE, row_count - offset);
+		for (idx_t col_idx = 0; col_idx < column_count; col_idx++) {
+			auto &vec = chunk.data[col_idx];
+			FlatVector::SetData(vec, data[col_idx] + offset * GetTypeIdSize(types[col_idx].InternalType()));
+			if (validity[col_idx]) {
+				FlatVector::Validity(vec).Initialize(validity[col_idx] + offset / ValidityMask::BITS_PER_VALUE);
+			} else {
+				FlatVector::Validity(vec).Reset();
+			}
+		}
+		chunk.SetCardinality(count);
+		appender->AppendDataChunk(chunk);
+	}
+}
+
 jlong _duckdb_jdbc_arrow_stream(JNIEnv *env, jclass, jobject res_ref_buf, jlong batch_size) {
 	if (!res_ref_buf) {
 		throw InvalidInputException("Invalid result set");
@@ -1101,6 +1939,187 @@ jlong _duckdb_jdbc_arrow_stream(JNIEnv *env, jclass, jobject res_ref_buf, jlong
 	return (jlong)&wrapper->stream;
 }
 
+//! A query result shared by several Arrow streams. The chunks of a batch are fetched under the lock, but converted to
+//! Arrow by the thread consuming the stream, so that the streams' consumers convert their batches concurrently
+struct SharedArrowResult {
+	SharedArrowResult(duckdb::unique_ptr<QueryResult> result_p, idx_t batch_size_p)
+	    : result(std::move(result_p)), batch_size(batch_size_p) {
+	}
+
+	//! Fetches whole chunks until at least batch_size rows are collected, no chunks means the result is exhausted.
+	//! Once fetching failed every stream gets the error, so that none of them mistakes it for the end of the result
+	void FetchBatch(duckdb::vector<duckdb::unique_ptr<DataChunk>> &chunks) {
+		lock_guard<mutex> guard(lock);
+		if (error.HasError()) {
+			error.Throw();
+		}
+		idx_t count = 0;
+		while (!finished && count < batch_size) {
+			duckdb::unique_ptr<DataChunk> chunk;
+			if (!result->TryFetch(chunk, error)) {
+				finished = true;
+				// a failing streaming result records the error on itself rather than throwing it
+				if (!error.HasError()) {
+					error = result->GetErrorObject();
+				}
+				error.Throw();
+			}
+			if (!chunk || chunk->size() == 0) {
+				finished = true;
+				break;
+			}
+			count += chunk->size();
+			chunks.push_back(std::move(chunk));
+		}
+	}
+
+	mutex lock;
+	duckdb::unique_ptr<QueryResult> result;
+	idx_t batch_size;
+	bool finished = false;
+	ErrorData error;
+};
+
+struct PartitionedArrowStream {
+	explicit PartitionedArrowStream(duckdb::shared_ptr<SharedArrowResult> shared_p) : shared(std::move(shared_p)) {
+		stream.private_data = this;
+		stream.get_schema = GetSchema;
+		stream.get_next = GetNext;
+		stream.release = Release;
+		stream.get_last_error = GetLastError;
+	}
+
+	ArrowArrayStream stream;
+	duckdb::shared_ptr<SharedArrowResult> shared;
+	string last_error;
+
+	static int GetSchema(ArrowArrayStream *stream, ArrowSchema *out) {
+		auto self = (PartitionedArrowStream *)stream->private_data;
+		auto &result = *self->shared->result;
+		try {
+			ArrowConverter::ToArrowSchema(out, result.types, result.names, result.client_properties);
+		} catch (std::exception &e) {
+			self->last_error = ErrorData(e).Message();
+			return -1;
+		}
+		return 0;
+	}
+
+	static int GetNext(ArrowArrayStream *stream, ArrowArray *out) {
+		auto self = (PartitionedArrowStream *)stream->private_data;
+		auto &result = *self->shared->result;
+		try {
+			duckdb::vector<duckdb::unique_ptr<DataChunk>> chunks;
+			self->shared->FetchBatch(chunks);
+			if (chunks.empty()) {
+				out->release = nullptr;
+				return 0;
+			}
+			idx_t count = 0;
+			for (auto &chunk : chunks) {
+				count += chunk->size();
+			}
+			ArrowAppender appender(result.types, count, result.client_properties);
+			for (auto &chunk : chunks) {
+				appender.Append(*chunk, 0, chunk->size(), chunk->size());
+			}
+			*out = appender.Finalize();
+		} catch (std::exception &e) {
+			self->last_error = ErrorData(e).Message();
+			return -1;
+		}
+		return 0;
+	}
+
+	static void Release(ArrowArrayStream *stream) {
+		if (!stream || !stream->release) {
+			return;
+		}
+		stream->release = nullptr;
+		delete (PartitionedArrowStream *)stream->private_data;
+	}
+
+	static const char *GetLastError(ArrowArrayStream *stream) {
+		return ((PartitionedArrowStream *)stream->private_data)->last_error.c_str();
+	}
+};
+
+jlongArray _duckdb_jdbc_arrow_streams(JNIEnv *env, jclass, jobject res_ref_buf, jlong batch_size,
+                                      jint stream_count) {
+	if (!res_ref_buf) {
+		throw InvalidInputException("Invalid result set");
+	}
+	auto res_ref = (ResultHolder *)env->GetDirectBufferAddress(res_ref_buf);
+	if (!res_ref || !res_ref->res || res_ref->res->HasError()) {
+		throw InvalidInputException("Invalid result set");
+	}
+	if (batch_size <= 0 || stream_count <= 0) {
+		throw InvalidInputException("Batch size and stream count have to be positive");
+	}
+
+	auto shared = make_shared_ptr<SharedArrowResult>(std::move(res_ref->res), batch_size);
+	duckdb::vector<jlong> stream_ptrs;
+	for (jint i = 0; i < stream_count; i++) {
+		auto partition = new PartitionedArrowStream(shared);
+		stream_ptrs.push_back((jlong)&partition->stream);
+	}
+	auto result = env->NewLongArray(stream_count);
+	env->SetLongArrayRegion(result, 0, stream_count, stream_ptrs.data());
+	return result;
+}
+
+jlongArray _duckdb_jdbc_arrow_stream_read_longs(JNIEnv *env, jclass, jlong arrow_array_stream_pointer) {
+	auto stream = (ArrowArrayStream *)arrow_array_stream_pointer;
+	if (!stream || !stream->release) {
+		throw InvalidInputException("Invalid Arrow stream");
+	}
+	duckdb::vector<jlong> values;
+	string error;
+	ArrowSchema schema;
+	if (stream->get_schema(stream, &schema) != 0) {
+		error = stream->get_last_error(stream);
+	} else {
+		bool is_bigint = schema.n_children > 0 && strcmp(schema.children[0]->format, "l") == 0;
+		schema.release(&schema);
+		if (!is_bigint) {
+			error = "The first column of the Arrow stream is not a BIGINT";
+		}
+	}
+	while (error.empty()) {
+		ArrowArray array;
+		if (stream->get_next(stream, &array) != 0) {
+			error = stream->get_last_error(stream);
+			break;
+		}
+		if (!array.release) {
+			break;
+		}
+		auto &column = *array.children[0];
+		if (column.null_count != 0) {
+			error = "The first column of the Arrow stream has NULLs";
+		} else {
+			auto data = (const int64_t *)column.buffers[1] + column.offset;
+			values.insert(values.end(), data, data + column.length);
+		}
+		array.release(&array);
+	}
+	stream->release(stream);
+	if (!error.empty()) {
+		throw IOException(error);
+	}
+
+	auto result = env->NewLongArray(values.size());
+	env->SetLongArrayRegion(result, 0, values.size(), values.data());
+	return result;
+}
+
+void _duckdb_jdbc_arrow_stream_release(JNIEnv *, jclass, jlong arrow_array_stream_pointer) {
+	auto stream = (ArrowArrayStream *)arrow_array_stream_pointer;
+	if (stream && stream->release) {
+		stream->release(stream);
+	}
+}
+
 class JavaArrowTabularStreamFactory {
 public:
 	JavaArrowTabularStreamFactory(ArrowArrayStream *stream_ptr_p) : stream_ptr(stream_ptr_p) {};
@@ -1152,6 +2171,837 @@ void _duckdb_jdbc_arrow_register(JNIEnv *env, jclass, jobject conn_ref_buf, jlon
 	conn->TableFunction("arrow_scan_dumb", parameters)->CreateView(name, true, true);
 }
 
+//! The JNIEnv of the calling thread. DuckDB's worker threads are attached to the JVM the first time they call Java.
+static JNIEnv *get_thread_env() {
+	JNIEnv *env;
+	auto status = java_vm->GetEnv(reinterpret_cast<void **>(&env), JNI_VERSION);
+	if (status == JNI_EDETACHED) {
+		status = java_vm->AttachCurrentThreadAsDaemon(reinterpret_cast<void **>(&env), nullptr);
+	}
+	if (status != JNI_OK) {
+		throw InternalException("Could not attach the thread to the JVM");
+	}
+	return env;
+}
+
+//! Local references created while a DuckDB thread calls Java, released when done since such threads have no Java
+//! frame that would release them
+struct LocalFrame {
+	LocalFrame(JNIEnv *env_p, jint capacity) : env(env_p) {
+		if (env->PushLocalFrame(capacity) != 0) {
+			env->ExceptionClear();
+			throw OutOfMemoryException("Could not allocate JNI local references");
+		}
+	}
+	~LocalFrame() {
+		env->PopLocalFrame(nullptr);
+	}
+
+	JNIEnv *env;
+};
+
+//! Turns an exception thrown by Java code called from DuckDB into a DuckDB exception failing the query
+static void check_java_exception(JNIEnv *env) {
+	if (!env->ExceptionCheck()) {
+		return;
+	}
+	auto exception = env->ExceptionOccurred();
+	env->ExceptionClear();
+	auto message = (jstring)env->CallObjectMethod(exception, J_Object_toString);
+	if (env->ExceptionCheck() || !message) {
+		env->ExceptionClear();
+		throw InvalidInputException("Java function failed");
+	}
+	throw InvalidInputException(jstring_to_string(env, message));
+}
+
+//! A global reference to a Java function object, released when the DuckDB function calling it is destroyed
+struct JavaFunctionRef {
+	JavaFunctionRef(JNIEnv *env, jobject function_p) : function(env->NewGlobalRef(function_p)) {
+	}
+	~JavaFunctionRef() {
+		try {
+			get_thread_env()->DeleteGlobalRef(function);
+		} catch (std::exception &) {
+			// the thread could not be attached to the JVM, the function is leaked
+		}
+	}
+
+	jobject function;
+};
+
+//! Whether Java functions can write results of this type, a fixed-width value or a string
+static bool is_java_output_type(const LogicalType &type) {
+	switch (type.InternalType()) {
+	case PhysicalType::BOOL:
+	case PhysicalType::INT8:
+	case PhysicalType::INT16:
+	case PhysicalType::INT32:
+	case PhysicalType::INT64:
+	case PhysicalType::UINT8:
+	case PhysicalType::UINT16:
+	case PhysicalType::UINT32:
+	case PhysicalType::UINT64:
+	case PhysicalType::FLOAT:
+	case PhysicalType::DOUBLE:
+	case PhysicalType::VARCHAR:
+		return true;
+	default:
+		return false;
+	}
+}
+
+//! A DuckDBOutputVector over the first row_count rows of result, all NULL until Java sets them. Fixed-width values are
+//! written directly into it.
+static jobject create_output_vector(JNIEnv *env, Vector &result, idx_t row_count) {
+	result.SetVectorType(VectorType::FLAT_VECTOR);
+	auto &validity = FlatVector::Validity(result);
+	validity.Initialize(row_count);
+	validity.SetAllInvalid(row_count);
+	auto validity_buf =
+	    env->NewDirectByteBuffer(validity.GetData(), ValidityMask::EntryCount(row_count) * sizeof(validity_t));
+
+	auto &type = result.GetType();
+	jint width = 0;
+	jobject data = nullptr;
+	if (type.InternalType() != PhysicalType::VARCHAR) {
+		width = GetTypeIdSize(type.InternalType());
+		data = env->NewDirectByteBuffer(FlatVector::GetData(result), row_count * width);
+	}
+	return env->NewObject(J_DuckOutputVector, J_DuckOutputVector_init, column_type_id(type), (jint)row_count, width,
+	                      data, validity_buf);
+}
+
+//! Copies the strings a Java function collected in its DuckDBOutputVector into result, rows without one stay NULL
+static void copy_output_strings(JNIEnv *env, jobject output, Vector &result, idx_t row_count) {
+	duckdb::vector<jint> starts(row_count);
+	duckdb::vector<jint> lengths(row_count);
+	auto starts_j = (jintArray)env->GetObjectField(output, J_DuckOutputVector_string_starts);
+	auto lengths_j = (jintArray)env->GetObjectField(output, J_DuckOutputVector_string_lengths);
+	auto data_j = (jbyteArray)env->GetObjectField(output, J_DuckOutputVector_string_data);
+	env->GetIntArrayRegion(starts_j, 0, row_count, starts.data());
+	env->GetIntArrayRegion(lengths_j, 0, row_count, lengths.data());
+
+	auto data = env->GetByteArrayElements(data_j, nullptr);
+	auto strings = FlatVector::GetData<string_t>(result);
+	for (idx_t row_idx = 0; row_idx < row_count; row_idx++) {
+		if (lengths[row_idx] < 0) {
+			continue;
+		}
+		strings[row_idx] = StringVector::AddStringOrBlob(result, (const char *)data + starts[row_idx], lengths[row_idx]);
+	}
+	env->ReleaseByteArrayElements(data_j, data, JNI_ABORT);
+}
+
+//! The DuckDBDataChunk passed to Java functions, over the first row_count rows of columns
+static jobject create_data_chunk(JNIEnv *env, ClientContext &context, Vector columns[], idx_t column_count,
+                                 idx_t row_count) {
+	auto jcolumns = env->NewObjectArray(column_count, J_DuckVector, nullptr);
+	for (idx_t col_idx = 0; col_idx < column_count; col_idx++) {
+		columns[col_idx].Flatten(row_count);
+		auto jvec = ProcessVector(env, context, columns[col_idx], row_count);
+		check_java_exception(env);
+		env->SetObjectArrayElement(jcolumns, col_idx, jvec);
+		env->DeleteLocalRef(jvec);
+	}
+	return env->NewObject(J_DuckDataChunk, J_DuckDataChunk_init, jcolumns, (jint)row_count);
+}
+
+//! Calls a DuckDBScalarFunction for one chunk, on whichever thread DuckDB evaluates the expression
+static void call_java_scalar_function(const JavaFunctionRef &function_ref, DataChunk &args, ExpressionState &state,
+                                      Vector &result) {
+	auto row_count = args.size();
+	if (row_count == 0) {
+		return;
+	}
+	auto env = get_thread_env();
+	LocalFrame frame(env, 16);
+
+	auto input = create_data_chunk(env, state.GetContext(), args.data.data(), args.ColumnCount(), row_count);
+	auto output = create_output_vector(env, result, row_count);
+	check_java_exception(env);
+
+	env->CallVoidMethod(function_ref.function, J_DuckScalarFunction_apply, input, output);
+	check_java_exception(env);
+
+	if (result.GetType().InternalType() == PhysicalType::VARCHAR) {
+		copy_output_strings(env, output, result, row_count);
+	}
+}
+
+//! Parses the SQL type names passed from Java, which may refer to types defined in the database
+static LogicalType parse_type(JNIEnv *env, ClientContext &context, jbyteArray type_name_j) {
+	auto type_name = byte_array_to_string(env, type_name_j);
+	LogicalType type;
+	context.RunFunctionInTransaction([&]() { type = TransformStringToLogicalType(type_name, context); });
+	return type;
+}
+
+static duckdb::vector<LogicalType> parse_types(JNIEnv *env, ClientContext &context, jobjectArray type_names_j) {
+	duckdb::vector<LogicalType> types;
+	for (jsize i = 0; i < env->GetArrayLength(type_names_j); i++) {
+		auto type_name_j = (jbyteArray)env->GetObjectArrayElement(type_names_j, i);
+		types.push_back(parse_type(env, context, type_name_j));
+		env->DeleteLocalRef(type_name_j);
+	}
+	return types;
+}
+
+static LogicalType parse_return_type(JNIEnv *env, ClientContext &context, jbyteArray type_name_j) {
+	auto type = parse_type(env, context, type_name_j);
+	if (!is_java_output_type(type)) {
+		throw InvalidInputException("Unsupported return type %s", type.ToString());
+	}
+	return type;
+}
+
+void _duckdb_jdbc_register_scalar_function(JNIEnv *env, jclass, jobject conn_ref_buf, jbyteArray name_j,
+                                           jobjectArray arg_types_j, jbyteArray return_type_j, jobject function) {
+	auto conn_ref = get_connection(env, conn_ref_buf);
+	if (!conn_ref) {
+		return;
+	}
+	auto name = byte_array_to_string(env, name_j);
+	auto arg_types = parse_types(env, *conn_ref->context, arg_types_j);
+	auto return_type = parse_return_type(env, *conn_ref->context, return_type_j);
+
+	auto function_ref = make_shared_ptr<JavaFunctionRef>(env, function);
+	ScalarFunction scalar_function(name, std::move(arg_types), return_type,
+	                               [function_ref](DataChunk &args, ExpressionState &state, Vector &result) {
+		                               call_java_scalar_function(*function_ref, args, state, result);
+	                               });
+	// NULL arguments, constant ones included, are passed to Java instead of making the result NULL
+	scalar_function.null_handling = FunctionNullHandling::SPECIAL_HANDLING;
+	CreateScalarFunctionInfo info(std::move(scalar_function));
+	info.schema = DEFAULT_SCHEMA;
+	conn_ref->context->RegisterFunction(info);
+}
+
+//! A DuckDBAggregateFunction, kept in the object cache of the database it is registered with and released with it
+struct JavaAggregateFunction : public ObjectCacheEntry {
+	JavaAggregateFunction(JNIEnv *env, jobject function) : function_ref(env, function) {
+	}
+
+	static string ObjectType() {
+		return "java_aggregate_function";
+	}
+
+	string GetObjectType() override {
+		return ObjectType();
+	}
+
+	JavaFunctionRef function_ref;
+};
+
+struct JavaAggregateBindData : public FunctionData {
+	JavaAggregateBindData(ClientContext &context_p, duckdb::shared_ptr<JavaAggregateFunction> function_p)
+	    : context(context_p), function(std::move(function_p)) {
+	}
+
+	duckdb::unique_ptr<FunctionData> Copy() const override {
+		return make_uniq<JavaAggregateBindData>(context, function);
+	}
+
+	bool Equals(const FunctionData &other_p) const override {
+		return function == other_p.Cast<JavaAggregateBindData>().function;
+	}
+
+	jobject Function() const {
+		return function->function_ref.function;
+	}
+
+	//! the context the query is bound in, which casts the vectors of types Java reads as strings
+	ClientContext &context;
+	duckdb::shared_ptr<JavaAggregateFunction> function;
+};
+
+//! The state of a group: a global reference to the Java object returned by createState(), created on first use
+struct JavaAggregateState {
+	jobject state;
+};
+
+static idx_t java_aggregate_state_size() {
+	return sizeof(JavaAggregateState);
+}
+
+static void java_aggregate_initialize(data_ptr_t state) {
+	reinterpret_cast<JavaAggregateState *>(state)->state = nullptr;
+}
+
+static duckdb::unique_ptr<FunctionData> java_aggregate_bind(ClientContext &context, AggregateFunction &function,
+                                                    duckdb::vector<duckdb::unique_ptr<Expression>> &) {
+	// the key of the function in the object cache is kept in extra_info, AggregateFunction has no other place for it
+	auto java_function = ObjectCache::GetObjectCache(context).Get<JavaAggregateFunction>(function.extra_info);
+	if (!java_function) {
+		throw InternalException("Java aggregate function %s is not registered", function.name);
+	}
+	return make_uniq<JavaAggregateBindData>(context, std::move(java_function));
+}
+
+static void ensure_java_state(JNIEnv *env, jobject function, JavaAggregateState &state) {
+	if (state.state) {
+		return;
+	}
+	auto local_state = env->CallObjectMethod(function, J_DuckAggregateFunction_createState);
+	check_java_exception(env);
+	if (!local_state) {
+		throw InvalidInputException("createState() of a Java aggregate function returned null");
+	}
+	state.state = env->NewGlobalRef(local_state);
+	env->DeleteLocalRef(local_state);
+}
+
+//! The Java objects of count states as a java.util.List, creating those that were not used before
+static jobject java_aggregate_states(JNIEnv *env, jobject function, Vector &states, idx_t count) {
+	if (states.GetVectorType() == VectorType::CONSTANT_VECTOR) {
+		// ungrouped aggregates update a single state
+		auto &state = **ConstantVector::GetData<JavaAggregateState *>(states);
+		ensure_java_state(env, function, state);
+		return env->CallStaticObjectMethod(J_Collections, J_Collections_nCopies, (jint)count, state.state);
+	}
+	UnifiedVectorFormat sdata;
+	states.ToUnifiedFormat(count, sdata);
+	auto state_ptrs = UnifiedVectorFormat::GetData<JavaAggregateState *>(sdata);
+	auto state_array = env->NewObjectArray(count, J_Object, nullptr);
+	for (idx_t i = 0; i < count; i++) {
+		auto &state = *state_ptrs[sdata.sel->get_index(i)];
+		ensure_java_state(env, function, state);
+		env->SetObjectArrayElement(state_array, i, state.state);
+	}
+	return env->CallStaticObjectMethod(J_Arrays, J_Arrays_asList, state_array);
+}
+
+static void java_aggregate_update(Vector inputs[], AggregateInputData &aggr_input_data, idx_t input_count,
+                                  Vector &states, idx_t count) {
+	if (count == 0) {
+		return;
+	}
+	auto &bind_data = aggr_input_data.bind_data->Cast<JavaAggregateBindData>();
+	auto env = get_thread_env();
+	LocalFrame frame(env, 16);
+
+	auto input = create_data_chunk(env, bind_data.context, inputs, input_count, count);
+	auto state_list = java_aggregate_states(env, bind_data.Function(), states, count);
+	check_java_exception(env);
+
+	env->CallVoidMethod(bind_data.Function(), J_DuckAggregateFunction_update, input, state_list);
+	check_java_exception(env);
+}
+
+//! Merges the states one thread collected into those of another, so that groups are aggregated in parallel
+static void java_aggregate_combine(Vector &source, Vector &target, AggregateInputData &aggr_input_data, idx_t count) {
+	if (count == 0) {
+		return;
+	}
+	auto &bind_data = aggr_input_data.bind_data->Cast<JavaAggregateBindData>();
+	auto env = get_thread_env();
+	LocalFrame frame(env, 16);
+
+	auto sources = java_aggregate_states(env, bind_data.Function(), source, count);
+	auto targets = java_aggregate_states(env, bind_data.Function(), target, count);
+	check_java_exception(env);
+
+	env->CallVoidMethod(bind_data.Function(), J_DuckAggregateFunction_combine, sources, targets);
+	check_java_exception(env);
+}
+
+static void java_aggregate_finalize(Vector &states, AggregateInputData &aggr_input_data, Vector &result, idx_t count,
+                                    idx_t offset) {
+	if (count == 0) {
+		return;
+	}
+	auto &bind_data = aggr_input_data.bind_data->Cast<JavaAggregateBindData>();
+	auto env = get_thread_env();
+	LocalFrame frame(env, 16);
+
+	auto state_list = java_aggregate_states(env, bind_data.Function(), states, count);
+	// Java writes rows from 0 on, results that go further into the vector are copied there
+	Vector output_vector(result.GetType(), offset != 0, false, count);
+	auto &target = offset == 0 ? result : output_vector;
+	auto output = create_output_vector(env, target, count);
+	check_java_exception(env);
+
+	env->CallVoidMethod(bind_data.Function(), J_DuckAggregateFunction_finish, state_list, output);
+	check_java_exception(env);
+
+	if (target.GetType().InternalType() == PhysicalType::VARCHAR) {
+		copy_output_strings(env, output, target, count);
+	}
+	if (offset != 0) {
+		VectorOperations::Copy(target, result, count, 0, offset);
+	}
+}
+
+//! Releases the Java objects of states, may not throw
+static void java_aggregate_destructor(Vector &states, AggregateInputData &, idx_t count) {
+	try {
+		auto env = get_thread_env();
+		UnifiedVectorFormat sdata;
+		states.ToUnifiedFormat(count, sdata);
+		auto state_ptrs = UnifiedVectorFormat::GetData<JavaAggregateState *>(sdata);
+		for (idx_t i = 0; i < count; i++) {
+			auto &state = *state_ptrs[sdata.sel->get_index(i)];
+			if (state.state) {
+				env->DeleteGlobalRef(state.state);
+				state.state = nullptr;
+			}
+		}
+	} catch (std::exception &) {
+		// the thread could not be attached to the JVM, the states are leaked
+	}
+}
+
+void _duckdb_jdbc_register_aggregate_function(JNIEnv *env, jclass, jobject conn_ref_buf, jbyteArray name_j,
+                                              jobjectArray arg_types_j, jbyteArray return_type_j, jobject function) {
+	static atomic<idx_t> next_function_id {0};
+
+	auto conn_ref = get_connection(env, conn_ref_buf);
+	if (!conn_ref) {
+		return;
+	}
+	auto &context = *conn_ref->context;
+	auto name = byte_array_to_string(env, name_j);
+	auto arg_types = parse_types(env, context, arg_types_j);
+	auto return_type = parse_return_type(env, context, return_type_j);
+
+	AggregateFunction aggregate(name, arg_types, return_type, java_aggregate_state_size, java_aggregate_initialize,
+	                            java_aggregate_update, java_aggregate_combine, java_aggregate_finalize,
+	                            FunctionNullHandling::SPECIAL_HANDLING, nullptr, java_aggregate_bind,
+	                            java_aggregate_destructor);
+	aggregate.extra_info = "java_aggregate_function_" + to_string(next_function_id++);
+
+	auto &object_cache = ObjectCache::GetObjectCache(context);
+	object_cache.Put(aggregate.extra_info, make_shared_ptr<JavaAggregateFunction>(env, function));
+	try {
+		UDFWrapper::RegisterAggrFunction(aggregate, context);
+	} catch (...) {
+		object_cache.Delete(aggregate.extra_info);
+		throw;
+	}
+}
+
+//! The schema and the Supplier of DuckDBTableProducers of a Java table function
+struct JavaTableFunctionInfo : public TableFunctionInfo {
+	JavaTableFunctionInfo(JNIEnv *env, jobject supplier, duckdb::vector<string> names_p,
+	                      duckdb::vector<LogicalType> types_p, idx_t max_threads_p)
+	    : supplier_ref(env, supplier), names(std::move(names_p)), types(std::move(types_p)),
+	      max_threads(max_threads_p) {
+	}
+
+	JavaFunctionRef supplier_ref;
+	//! serializes the calls of the supplier, which DuckDB makes from every scanning thread at the same time
+	mutable mutex supplier_lock;
+	duckdb::vector<string> names;
+	duckdb::vector<LogicalType> types;
+	//! how many threads scan at the same time, each with a producer of its own
+	idx_t max_threads;
+};
+
+struct JavaTableBindData : public FunctionData {
+	explicit JavaTableBindData(duckdb::shared_ptr<TableFunctionInfo> info_p) : info(std::move(info_p)) {
+	}
+
+	duckdb::unique_ptr<FunctionData> Copy() const override {
+		return make_uniq<JavaTableBindData>(info);
+	}
+
+	bool Equals(const FunctionData &other_p) const override {
+		return info == other_p.Cast<JavaTableBindData>().info;
+	}
+
+	const JavaTableFunctionInfo &Info() const {
+		return info->Cast<JavaTableFunctionInfo>();
+	}
+
+	duckdb::shared_ptr<TableFunctionInfo> info;
+};
+
+struct JavaTableGlobalState : public GlobalTableFunctionState {
+	explicit JavaTableGlobalState(idx_t max_threads_p) : max_threads(max_threads_p) {
+	}
+
+	idx_t MaxThreads() const override {
+		return max_threads;
+	}
+
+	idx_t max_threads;
+};
+
+//! The producer of one scanning thread, released once it is exhausted
+struct JavaTableLocalState : public LocalTableFunctionState {
+	~JavaTableLocalState() override {
+		Release();
+	}
+
+	void Release() {
+		if (!producer) {
+			return;
+		}
+		try {
+			get_thread_env()->DeleteGlobalRef(producer);
+		} catch (std::exception &) {
+			// the thread could not be attached to the JVM, the producer is leaked
+		}
+		producer = nullptr;
+	}
+
+	jobject producer = nullptr;
+};
+
+static duckdb::unique_ptr<FunctionData> java_table_bind(ClientContext &, TableFunctionBindInput &input,
+                                                        duckdb::vector<LogicalType> &return_types,
+                                                        duckdb::vector<string> &names) {
+	auto &info = input.info->Cast<JavaTableFunctionInfo>();
+	return_types = info.types;
+	names = info.names;
+	return make_uniq<JavaTableBindData>(input.table_function.function_info);
+}
+
+static duckdb::unique_ptr<GlobalTableFunctionState> java_table_init_global(ClientContext &,
+                                                                           TableFunctionInitInput &input) {
+	return make_uniq<JavaTableGlobalState>(input.bind_data->Cast<JavaTableBindData>().Info().max_threads);
+}
+
+static duckdb::unique_ptr<LocalTableFunctionState>
+java_table_init_local(ExecutionContext &, TableFunctionInitInput &input, GlobalTableFunctionState *) {
+	auto &info = input.bind_data->Cast<JavaTableBindData>().Info();
+	auto env = get_thread_env();
+	LocalFrame frame(env, 4);
+
+	auto local_state = make_uniq<JavaTableLocalState>();
+	jobject producer;
+	{
+		lock_guard<mutex> guard(info.supplier_lock);
+		producer = env->CallObjectMethod(info.supplier_ref.function, J_Supplier_get);
+	}
+	check_java_exception(env);
+	if (producer) {
+		local_state->producer = env->NewGlobalRef(producer);
+	}
+	return std::move(local_state);
+}
+
+//! Lets the producer of this thread fill the next chunk, a producer without rows ends the scan of the thread
+static void java_table_function(ClientContext &, TableFunctionInput &data, DataChunk &output) {
+	auto &local_state = data.local_state->Cast<JavaTableLocalState>();
+	if (!local_state.producer) {
+		output.SetCardinality(0);
+		return;
+	}
+	auto env = get_thread_env();
+	LocalFrame frame(env, 16);
+
+	idx_t capacity = STANDARD_VECTOR_SIZE;
+	auto columns = env->NewObjectArray(output.ColumnCount(), J_DuckOutputVector, nullptr);
+	for (idx_t col_idx = 0; col_idx < output.ColumnCount(); col_idx++) {
+		auto column = create_output_vector(env, output.data[col_idx], capacity);
+		check_java_exception(env);
+		env->SetObjectArrayElement(columns, col_idx, column);
+		env->DeleteLocalRef(column);
+	}
+
+	auto row_count = env->CallIntMethod(local_state.producer, J_DuckTableProducer_produce, columns);
+	check_java_exception(env);
+	if (row_count < 0 || (idx_t)row_count > capacity) {
+		throw InvalidInputException("A table producer returned %d rows, more than the %d of a chunk or negative",
+		                            row_count, capacity);
+	}
+	if (row_count == 0) {
+		local_state.Release();
+	}
+	for (idx_t col_idx = 0; col_idx < output.ColumnCount(); col_idx++) {
+		if (output.data[col_idx].GetType().InternalType() == PhysicalType::VARCHAR) {
+			auto column = env->GetObjectArrayElement(columns, col_idx);
+			copy_output_strings(env, column, output.data[col_idx], row_count);
+			env->DeleteLocalRef(column);
+		}
+	}
+	output.SetCardinality(row_count);
+}
+
+void _duckdb_jdbc_register_table_function(JNIEnv *env, jclass, jobject conn_ref_buf, jbyteArray name_j,
+                                          jobjectArray column_names_j, jobjectArray column_types_j, jobject supplier,
+                                          jint max_threads) {
+	auto conn_ref = get_connection(env, conn_ref_buf);
+	if (!conn_ref) {
+		return;
+	}
+	auto &context = *conn_ref->context;
+	auto name = byte_array_to_string(env, name_j);
+	duckdb::vector<string> column_names;
+	for (jsize i = 0; i < env->GetArrayLength(column_names_j); i++) {
+		auto column_name_j = (jbyteArray)env->GetObjectArrayElement(column_names_j, i);
+		column_names.push_back(byte_array_to_string(env, column_name_j));
+		env->DeleteLocalRef(column_name_j);
+	}
+	auto column_types = parse_types(env, context, column_types_j);
+	for (auto &type : column_types) {
+		if (!is_java_output_type(type)) {
+			throw InvalidInputException("Unsupported column type %s", type.ToString());
+		}
+	}
+	if (column_names.empty() || column_names.size() != column_types.size()) {
+		throw InvalidInputException("A table function needs a type for each of at least one column");
+	}
+	if (max_threads < 1) {
+		throw InvalidInputException("A table function is scanned by at least one thread");
+	}
+
+	TableFunction function(name, {}, java_table_function, java_table_bind, java_table_init_global,
+	                       java_table_init_local);
+	function.function_info = make_shared_ptr<JavaTableFunctionInfo>(env, supplier, std::move(column_names),
+	                                                                std::move(column_types), (idx_t)max_threads);
+	CreateTableFunctionInfo info(std::move(function));
+	context.RegisterFunction(info);
+}
+
+//! Columns of Java arrays and direct buffers registered with registerColumns, in native memory
+struct JavaColumns {
+	duckdb::vector<string> names;
+	duckdb::vector<LogicalType> types;
+	idx_t row_count;
+	//! the first value of each column, either in a direct buffer or in a copy of an array
+	duckdb::vector<const_data_ptr_t> data;
+	//! the direct buffers, kept reachable while the columns can be scanned
+	duckdb::vector<duckdb::unique_ptr<JavaFunctionRef>> buffers;
+	duckdb::vector<unsafe_unique_array<data_t>> copies;
+};
+
+//! The columns registered on a connection by their names
+struct JavaColumnsState : public ClientContextState {
+	static constexpr const char *NAME = "java_columns";
+
+	unordered_map<string, duckdb::shared_ptr<JavaColumns>> tables;
+};
+
+static const char *const JAVA_COLUMNS_SCAN = "java_columns_scan";
+
+struct JavaColumnsBindData : public FunctionData {
+	explicit JavaColumnsBindData(duckdb::shared_ptr<JavaColumns> columns_p) : columns(std::move(columns_p)) {
+	}
+
+	duckdb::unique_ptr<FunctionData> Copy() const override {
+		return make_uniq<JavaColumnsBindData>(columns);
+	}
+
+	bool Equals(const FunctionData &other_p) const override {
+		return columns == other_p.Cast<JavaColumnsBindData>().columns;
+	}
+
+	duckdb::shared_ptr<JavaColumns> columns;
+};
+
+struct JavaColumnsGlobalState : public GlobalTableFunctionState {
+	JavaColumnsGlobalState(idx_t row_count, TableFunctionInitInput &input)
+	    : column_ids(input.column_ids), filters(input.filters) {
+		max_threads = MaxValue<idx_t>((row_count + STANDARD_VECTOR_SIZE - 1) / STANDARD_VECTOR_SIZE, 1);
+	}
+
+	idx_t MaxThreads() const override {
+		return max_threads;
+	}
+
+	//! the first row of the next chunk to scan
+	atomic<idx_t> position {0};
+	idx_t max_threads;
+	duckdb::vector<column_t> column_ids;
+	optional_ptr<TableFilterSet> filters;
+};
+
+struct JavaColumnsLocalState : public LocalTableFunctionState {
+	idx_t batch_index = 0;
+};
+
+static duckdb::unique_ptr<FunctionData> java_columns_bind(ClientContext &context, TableFunctionBindInput &input,
+                                                          duckdb::vector<LogicalType> &return_types,
+                                                          duckdb::vector<string> &names) {
+	auto name = StringValue::Get(input.inputs[0]);
+	auto entry = context.registered_state.find(JavaColumnsState::NAME);
+	if (entry == context.registered_state.end()) {
+		throw CatalogException("No columns were registered as %s", name);
+	}
+	auto &tables = static_cast<JavaColumnsState &>(*entry->second).tables;
+	auto table = tables.find(name);
+	if (table == tables.end()) {
+		throw CatalogException("No columns were registered as %s", name);
+	}
+	return_types = table->second->types;
+	names = table->second->names;
+	return make_uniq<JavaColumnsBindData>(table->second);
+}
+
+static duckdb::unique_ptr<GlobalTableFunctionState> java_columns_init_global(ClientContext &,
+                                                                             TableFunctionInitInput &input) {
+	auto &columns = *input.bind_data->Cast<JavaColumnsBindData>().columns;
+	return make_uniq<JavaColumnsGlobalState>(columns.row_count, input);
+}
+
+static duckdb::unique_ptr<LocalTableFunctionState>
+java_columns_init_local(ExecutionContext &, TableFunctionInitInput &, GlobalTableFunctionState *) {
+	return make_uniq<JavaColumnsLocalState>();
+}
+
+//! Points the output at the next chunk of the columns without copying it, then applies the pushed down filters
+static void java_columns_scan(ClientContext &, TableFunctionInput &data, DataChunk &output) {
+	auto &columns = *data.bind_data->Cast<JavaColumnsBindData>().columns;
+	auto &global_state = data.global_state->Cast<JavaColumnsGlobalState>();
+	auto &local_state = data.local_state->Cast<JavaColumnsLocalState>();
+
+	while (true) {
+		auto start = global_state.position.fetch_add(STANDARD_VECTOR_SIZE);
+		if (start >= columns.row_count) {
+			output.SetCardinality(0);
+			return;
+		}
+		auto count = MinValue<idx_t>(STANDARD_VECTOR_SIZE, columns.row_count - start);
+		local_state.batch_index = start / STANDARD_VECTOR_SIZE;
+
+		for (idx_t out_idx = 0; out_idx < global_state.column_ids.size(); out_idx++) {
+			auto col_idx = global_state.column_ids[out_idx];
+			auto &vector = output.data[out_idx];
+			if (col_idx == COLUMN_IDENTIFIER_ROW_ID) {
+				vector.Sequence(NumericCast<int64_t>(start), 1, count);
+				continue;
+			}
+			auto width = GetTypeIdSize(columns.types[col_idx].InternalType());
+			FlatVector::SetData(vector, const_cast<data_ptr_t>(columns.data[col_idx] + start * width));
+		}
+		output.SetCardinality(count);
+		if (!global_state.filters) {
+			return;
+		}
+
+		SelectionVector sel;
+		sel.Initialize(nullptr);
+		idx_t approved_count = count;
+		for (auto &filter : global_state.filters->filters) {
+			auto &vector = output.data[filter.first];
+			UnifiedVectorFormat vdata;
+			vector.ToUnifiedFormat(count, vdata);
+			ColumnSegment::FilterSelection(sel, vector, vdata, *filter.second, count, approved_count);
+		}
+		if (approved_count == 0) {
+			continue;
+		}
+		if (approved_count != count) {
+			output.Slice(sel, approved_count);
+		}
+		return;
+	}
+}
+
+static idx_t java_columns_batch_index(ClientContext &, const FunctionData *, LocalTableFunctionState *local_state,
+                                      GlobalTableFunctionState *) {
+	return local_state->Cast<JavaColumnsLocalState>().batch_index;
+}
+
+static duckdb::unique_ptr<NodeStatistics> java_columns_cardinality(ClientContext &, const FunctionData *bind_data) {
+	auto row_count = bind_data->Cast<JavaColumnsBindData>().columns->row_count;
+	return make_uniq<NodeStatistics>(row_count, row_count);
+}
+
+static idx_t java_column_width(const LogicalType &type) {
+	switch (type.id()) {
+	case LogicalTypeId::TINYINT:
+	case LogicalTypeId::SMALLINT:
+	case LogicalTypeId::INTEGER:
+	case LogicalTypeId::BIGINT:
+	case LogicalTypeId::FLOAT:
+	case LogicalTypeId::DOUBLE:
+		return GetTypeIdSize(type.InternalType());
+	default:
+		throw InvalidInputException("Unsupported column type %s", type.ToString());
+	}
+}
+
+void _duckdb_jdbc_register_columns(JNIEnv *env, jclass, jobject conn_ref_buf, jbyteArray name_j,
+                                   jobjectArray column_names_j, jobjectArray column_types_j, jobjectArray columns_j,
+                                   jlong row_count) {
+	auto conn_ref = get_connection(env, conn_ref_buf);
+	if (!conn_ref) {
+		return;
+	}
+	auto &context = *conn_ref->context;
+	auto name = byte_array_to_string(env, name_j);
+
+	auto columns = make_shared_ptr<JavaColumns>();
+	for (jsize i = 0; i < env->GetArrayLength(column_names_j); i++) {
+		auto column_name_j = (jbyteArray)env->GetObjectArrayElement(column_names_j, i);
+		columns->names.push_back(byte_array_to_string(env, column_name_j));
+		env->DeleteLocalRef(column_name_j);
+	}
+	columns->types = parse_types(env, context, column_types_j);
+	columns->row_count = (idx_t)row_count;
+	if (columns->names.empty() || columns->names.size() != columns->types.size() ||
+	    columns->names.size() != (idx_t)env->GetArrayLength(columns_j)) {
+		throw InvalidInputException("Registered columns need a type and values for each of at least one column");
+	}
+
+	for (idx_t col_idx = 0; col_idx < columns->names.size(); col_idx++) {
+		auto width = java_column_width(columns->types[col_idx]);
+		auto column = env->GetObjectArrayElement(columns_j, col_idx);
+		auto address = env->GetDirectBufferAddress(column);
+		if (address) {
+			if (env->GetDirectBufferCapacity(column) < row_count) {
+				throw InvalidInputException("Column %s has less than %d values", columns->names[col_idx], row_count);
+			}
+			columns->buffers.push_back(make_uniq<JavaFunctionRef>(env, column));
+			columns->data.push_back(reinterpret_cast<const_data_ptr_t>(address));
+		} else {
+			if (env->GetArrayLength((jarray)column) < row_count) {
+				throw InvalidInputException("Column %s has less than %d values", columns->names[col_idx], row_count);
+			}
+			auto copy = make_unsafe_uniq_array<data_t>(MaxValue<idx_t>(width * columns->row_count, 1));
+			auto elements = env->GetPrimitiveArrayCritical((jarray)column, nullptr);
+			memcpy(copy.get(), elements, width * columns->row_count);
+			env->ReleasePrimitiveArrayCritical((jarray)column, elements, JNI_ABORT);
+			columns->data.push_back(copy.get());
+			columns->copies.push_back(std::move(copy));
+		}
+		env->DeleteLocalRef(column);
+	}
+
+	TableFunction function(JAVA_COLUMNS_SCAN, {LogicalType::VARCHAR}, java_columns_scan, java_columns_bind,
+	                       java_columns_init_global, java_columns_init_local);
+	function.projection_pushdown = true;
+	function.filter_pushdown = true;
+	function.get_batch_index = java_columns_batch_index;
+	function.cardinality = java_columns_cardinality;
+	CreateTableFunctionInfo info(std::move(function));
+	info.on_conflict = OnCreateConflict::IGNORE_ON_CONFLICT;
+	context.RegisterFunction(info);
+
+	auto &state = context.registered_state[JavaColumnsState::NAME];
+	if (!state) {
+		state = make_shared_ptr<JavaColumnsState>();
+	}
+	static_cast<JavaColumnsState &>(*state).tables[name] = std::move(columns);
+	conn_ref->TableFunction(JAVA_COLUMNS_SCAN, {Value(name)})->CreateView(name, true, true);
+}
+
+//! Brings a connection back to the state of a new one: rolls back its transaction and drops its settings, search path,
+//! temporary objects, prepared statements and registered columns
+void _duckdb_jdbc_reset_session(JNIEnv *env, jclass, jobject conn_ref_buf) {
+	auto conn_ref = get_connection(env, conn_ref_buf);
+	if (!conn_ref) {
+		return;
+	}
+	auto &context = *conn_ref->context;
+	if (context.transaction.HasActiveTransaction()) {
+		conn_ref->Rollback();
+	}
+	context.config = ClientConfig();
+	context.registered_state.erase(JavaColumnsState::NAME);
+
+	auto &client_data = ClientData::Get(context);
+	client_data.catalog_search_path = make_uniq<CatalogSearchPath>(context);
+	client_data.prepared_statements.clear();
+	auto &db = DatabaseInstance::GetDatabase(context);
+	client_data.temporary_objects = make_shared_ptr<AttachedDatabase>(db, AttachedDatabaseType::TEMP_DATABASE);
+	client_data.temporary_objects->oid = DatabaseManager::Get(db).ModifyCatalog();
+	client_data.temporary_objects->Initialize();
+}
+
 void _duckdb_jdbc_create_extension_type(JNIEnv *env, jclass, jobject conn_buf) {
 
     auto connection = get_connection(env, conn_buf);
@@ -36,6 +36,16 @@ JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1set_1auto_1com
 	}
 }
 
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1reset_1session(JNIEnv * env, jclass param0, jobject param1) {
+	try {
+		return _duckdb_jdbc_reset_session(env, param0, param1);
+	} catch (const std::exception &e) {
+		duckdb::ErrorData error(e);
+		ThrowJNI(env, error.Message().c_str());
+
+	}
+}
+
 JNIEXPORT jboolean JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1get_1auto_1commit(JNIEnv * env, jclass param0, jobject param1) {
 	try {
 		return _duckdb_jdbc_get_auto_commit(env, param0, param1);
@@ -142,9 +152,42 @@ JNIEXPORT jobject JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1prepared_1s
 	}
 }
 
-JNIEXPORT jobject JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1execute(JNIEnv * env, jclass param0, jobject param1, jobjectArray param2) {
+JNIEXPORT jboolean JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1prepared_1statement_1cacheable(JNIEnv * env, jclass param0, jobject param1) {
+	try {
+		return _duckdb_jdbc_prepared_statement_cacheable(env, param0, param1);
+	} catch (const std::exception &e) {
+		duckdb::ErrorData error(e);
+		ThrowJNI(env, error.Message().c_str());
+
+		return false;
+	}
+}
+
+JNIEXPORT jboolean JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1prepared_1statement_1outdated(JNIEnv * env, jclass param0, jobject param1) {
+	try {
+		return _duckdb_jdbc_prepared_statement_outdated(env, param0, param1);
+	} catch (const std::exception &e) {
+		duckdb::ErrorData error(e);
+		ThrowJNI(env, error.Message().c_str());
+
+		return false;
+	}
+}
+
+JNIEXPORT jobject JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1execute(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jlongArray param3, jobjectArray param4) {
 	try {
-		return _duckdb_jdbc_execute(env, param0, param1, param2);
+		return _duckdb_jdbc_execute(env, param0, param1, param2, param3, param4);
+	} catch (const std::exception &e) {
+		duckdb::ErrorData error(e);
+		ThrowJNI(env, error.Message().c_str());
+
+		return nullptr;
+	}
+}
+
+JNIEXPORT jintArray JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1execute_1batch(JNIEnv * env, jclass param0, jobject param1, jint param2, jbyteArray param3, jlongArray param4, jobjectArray param5) {
+	try {
+		return _duckdb_jdbc_execute_batch(env, param0, param1, param2, param3, param4, param5);
 	} catch (const std::exception &e) {
 		duckdb::ErrorData error(e);
 		ThrowJNI(env, error.Message().c_str());
@@ -163,9 +206,9 @@ JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1free_1result(J
 	}
 }
 
-JNIEXPORT jobjectArray JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1fetch(JNIEnv * env, jclass param0, jobject param1, jobject param2) {
+JNIEXPORT jobjectArray JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1fetch(JNIEnv * env, jclass param0, jobject param1, jobject param2, jint param3) {
 	try {
-		return _duckdb_jdbc_fetch(env, param0, param1, param2);
+		return _duckdb_jdbc_fetch(env, param0, param1, param2, param3);
 	} catch (const std::exception &e) {
 		duckdb::ErrorData error(e);
 		ThrowJNI(env, error.Message().c_str());
@@ -174,6 +217,16 @@ JNIEXPORT jobjectArray JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1fetch(
 	}
 }
 
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1retain_1chunks(JNIEnv * env, jclass param0, jobject param1, jint param2) {
+	try {
+		return _duckdb_jdbc_retain_chunks(env, param0, param1, param2);
+	} catch (const std::exception &e) {
+		duckdb::ErrorData error(e);
+		ThrowJNI(env, error.Message().c_str());
+
+	}
+}
+
 JNIEXPORT jint JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1fetch_1size(JNIEnv * env, jclass param0) {
 	try {
 		return _duckdb_jdbc_fetch_size(env, param0);
@@ -196,6 +249,38 @@ JNIEXPORT jlong JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1arrow_1stream
 	}
 }
 
+JNIEXPORT jlongArray JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1arrow_1streams(JNIEnv * env, jclass param0, jobject param1, jlong param2, jint param3) {
+	try {
+		return _duckdb_jdbc_arrow_streams(env, param0, param1, param2, param3);
+	} catch (const std::exception &e) {
+		duckdb::ErrorData error(e);
+		ThrowJNI(env, error.Message().c_str());
+
+		return nullptr;
+	}
+}
+
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1arrow_1stream_1release(JNIEnv * env, jclass param0, jlong param1) {
+	try {
+		return _duckdb_jdbc_arrow_stream_release(env, param0, param1);
+	} catch (const std::exception &e) {
+		duckdb::ErrorData error(e);
+		ThrowJNI(env, error.Message().c_str());
+
+	}
+}
+
+JNIEXPORT jlongArray JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1arrow_1stream_1read_1longs(JNIEnv * env, jclass param0, jlong param1) {
+	try {
+		return _duckdb_jdbc_arrow_stream_read_longs(env, param0, param1);
+	} catch (const std::exception &e) {
+		duckdb::ErrorData error(e);
+		ThrowJNI(env, error.Message().c_str());
+
+		return nullptr;
+	}
+}
+
 JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1arrow_1register(JNIEnv * env, jclass param0, jobject param1, jlong param2, jbyteArray param3) {
 	try {
 		return _duckdb_jdbc_arrow_register(env, param0, param1, param2, param3);
@@ -206,6 +291,46 @@ JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1arrow_1registe
 	}
 }
 
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1register_1scalar_1function(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jobjectArray param3, jbyteArray param4, jobject param5) {
+	try {
+		return _duckdb_jdbc_register_scalar_function(env, param0, param1, param2, param3, param4, param5);
+	} catch (const std::exception &e) {
+		duckdb::ErrorData error(e);
+		ThrowJNI(env, error.Message().c_str());
+
+	}
+}
+
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1register_1aggregate_1function(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jobjectArray param3, jbyteArray param4, jobject param5) {
+	try {
+		return _duckdb_jdbc_register_aggregate_function(env, param0, param1, param2, param3, param4, param5);
+	} catch (const std::exception &e) {
+		duckdb::ErrorData error(e);
+		ThrowJNI(env, error.Message().c_str());
+
+	}
+}
+
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1register_1table_1function(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jobjectArray param3, jobjectArray param4, jobject param5, jint param6) {
+	try {
+		return _duckdb_jdbc_register_table_function(env, param0, param1, param2, param3, param4, param5, param6);
+	} catch (const std::exception &e) {
+		duckdb::ErrorData error(e);
+		ThrowJNI(env, error.Message().c_str());
+
+	}
+}
+
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1register_1columns(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jobjectArray param3, jobjectArray param4, jobjectArray param5, jlong param6) {
+	try {
+		return _duckdb_jdbc_register_columns(env, param0, param1, param2, param3, param4, param5, param6);
+	} catch (const std::exception &e) {
+		duckdb::ErrorData error(e);
+		ThrowJNI(env, error.Message().c_str());
+
+	}
+}
+
 JNIEXPORT jobject JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1create_1appender(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jbyteArray param3) {
 	try {
 		return _duckdb_jdbc_create_appender(env, param0, param1, param2, param3);
@@ -377,6 +502,37 @@ JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1appender_1appe
 	}
 }
 
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1appender_1append_1columns(JNIEnv * env, jclass param0, jobject param1, jobjectArray param2, jobjectArray param3, jint param4) {
+	try {
+		return _duckdb_jdbc_appender_append_columns(env, param0, param1, param2, param3, param4);
+	} catch (const std::exception &e) {
+		duckdb::ErrorData error(e);
+		ThrowJNI(env, error.Message().c_str());
+
+	}
+}
+
+JNIEXPORT jintArray JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1appender_1column_1widths(JNIEnv * env, jclass param0, jobject param1) {
+	try {
+		return _duckdb_jdbc_appender_column_widths(env, param0, param1);
+	} catch (const std::exception &e) {
+		duckdb::ErrorData error(e);
+		ThrowJNI(env, error.Message().c_str());
+
+		return nullptr;
+	}
+}
+
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1appender_1append_1direct(JNIEnv * env, jclass param0, jobject param1, jobjectArray param2, jobjectArray param3, jint param4) {
+	try {
+		return _duckdb_jdbc_appender_append_direct(env, param0, param1, param2, param3, param4);
+	} catch (const std::exception &e) {
+		duckdb::ErrorData error(e);
+		ThrowJNI(env, error.Message().c_str());
+
+	}
+}
+
 JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1create_1extension_1type(JNIEnv * env, jclass param0, jobject param1) {
 	try {
 		return _duckdb_jdbc_create_extension_type(env, param0, param1);
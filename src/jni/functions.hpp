@@ -21,6 +21,10 @@ void _duckdb_jdbc_set_auto_commit(JNIEnv * env, jclass param0, jobject param1, j
 
 JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1set_1auto_1commit(JNIEnv * env, jclass param0, jobject param1, jboolean param2);
 
+void _duckdb_jdbc_reset_session(JNIEnv * env, jclass param0, jobject param1);
+
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1reset_1session(JNIEnv * env, jclass param0, jobject param1);
+
 jboolean _duckdb_jdbc_get_auto_commit(JNIEnv * env, jclass param0, jobject param1);
 
 JNIEXPORT jboolean JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1get_1auto_1commit(JNIEnv * env, jclass param0, jobject param1);
@@ -61,17 +65,33 @@ jobject _duckdb_jdbc_prepared_statement_meta(JNIEnv * env, jclass param0, jobjec
 
 JNIEXPORT jobject JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1prepared_1statement_1meta(JNIEnv * env, jclass param0, jobject param1);
 
-jobject _duckdb_jdbc_execute(JNIEnv * env, jclass param0, jobject param1, jobjectArray param2);
+jboolean _duckdb_jdbc_prepared_statement_cacheable(JNIEnv * env, jclass param0, jobject param1);
+
+JNIEXPORT jboolean JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1prepared_1statement_1cacheable(JNIEnv * env, jclass param0, jobject param1);
+
+jboolean _duckdb_jdbc_prepared_statement_outdated(JNIEnv * env, jclass param0, jobject param1);
+
+JNIEXPORT jboolean JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1prepared_1statement_1outdated(JNIEnv * env, jclass param0, jobject param1);
+
+jobject _duckdb_jdbc_execute(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jlongArray param3, jobjectArray param4);
+
+JNIEXPORT jobject JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1execute(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jlongArray param3, jobjectArray param4);
+
+jintArray _duckdb_jdbc_execute_batch(JNIEnv * env, jclass param0, jobject param1, jint param2, jbyteArray param3, jlongArray param4, jobjectArray param5);
 
-JNIEXPORT jobject JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1execute(JNIEnv * env, jclass param0, jobject param1, jobjectArray param2);
+JNIEXPORT jintArray JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1execute_1batch(JNIEnv * env, jclass param0, jobject param1, jint param2, jbyteArray param3, jlongArray param4, jobjectArray param5);
 
 void _duckdb_jdbc_free_result(JNIEnv * env, jclass param0, jobject param1);
 
 JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1free_1result(JNIEnv * env, jclass param0, jobject param1);
 
-jobjectArray _duckdb_jdbc_fetch(JNIEnv * env, jclass param0, jobject param1, jobject param2);
+jobjectArray _duckdb_jdbc_fetch(JNIEnv * env, jclass param0, jobject param1, jobject param2, jint param3);
 
-JNIEXPORT jobjectArray JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1fetch(JNIEnv * env, jclass param0, jobject param1, jobject param2);
+JNIEXPORT jobjectArray JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1fetch(JNIEnv * env, jclass param0, jobject param1, jobject param2, jint param3);
+
+void _duckdb_jdbc_retain_chunks(JNIEnv * env, jclass param0, jobject param1, jint param2);
+
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1retain_1chunks(JNIEnv * env, jclass param0, jobject param1, jint param2);
 
 jint _duckdb_jdbc_fetch_size(JNIEnv * env, jclass param0);
 
@@ -81,10 +101,38 @@ jlong _duckdb_jdbc_arrow_stream(JNIEnv * env, jclass param0, jobject param1, jlo
 
 JNIEXPORT jlong JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1arrow_1stream(JNIEnv * env, jclass param0, jobject param1, jlong param2);
 
+jlongArray _duckdb_jdbc_arrow_streams(JNIEnv * env, jclass param0, jobject param1, jlong param2, jint param3);
+
+JNIEXPORT jlongArray JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1arrow_1streams(JNIEnv * env, jclass param0, jobject param1, jlong param2, jint param3);
+
+void _duckdb_jdbc_arrow_stream_release(JNIEnv * env, jclass param0, jlong param1);
+
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1arrow_1stream_1release(JNIEnv * env, jclass param0, jlong param1);
+
+jlongArray _duckdb_jdbc_arrow_stream_read_longs(JNIEnv * env, jclass param0, jlong param1);
+
+JNIEXPORT jlongArray JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1arrow_1stream_1read_1longs(JNIEnv * env, jclass param0, jlong param1);
+
 void _duckdb_jdbc_arrow_register(JNIEnv * env, jclass param0, jobject param1, jlong param2, jbyteArray param3);
 
 JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1arrow_1register(JNIEnv * env, jclass param0, jobject param1, jlong param2, jbyteArray param3);
 
+void _duckdb_jdbc_register_scalar_function(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jobjectArray param3, jbyteArray param4, jobject param5);
+
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1register_1scalar_1function(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jobjectArray param3, jbyteArray param4, jobject param5);
+
+void _duckdb_jdbc_register_aggregate_function(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jobjectArray param3, jbyteArray param4, jobject param5);
+
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1register_1aggregate_1function(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jobjectArray param3, jbyteArray param4, jobject param5);
+
+void _duckdb_jdbc_register_table_function(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jobjectArray param3, jobjectArray param4, jobject param5, jint param6);
+
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1register_1table_1function(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jobjectArray param3, jobjectArray param4, jobject param5, jint param6);
+
+void _duckdb_jdbc_register_columns(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jobjectArray param3, jobjectArray param4, jobjectArray param5, jlong param6);
+
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1register_1columns(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jobjectArray param3, jobjectArray param4, jobjectArray param5, jlong param6);
+
 jobject _duckdb_jdbc_create_appender(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jbyteArray param3);
 
 JNIEXPORT jobject JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1create_1appender(JNIEnv * env, jclass param0, jobject param1, jbyteArray param2, jbyteArray param3);
@@ -153,6 +201,18 @@ void _duckdb_jdbc_appender_append_null(JNIEnv * env, jclass param0, jobject para
 
 JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1appender_1append_1null(JNIEnv * env, jclass param0, jobject param1);
 
+void _duckdb_jdbc_appender_append_columns(JNIEnv * env, jclass param0, jobject param1, jobjectArray param2, jobjectArray param3, jint param4);
+
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1appender_1append_1columns(JNIEnv * env, jclass param0, jobject param1, jobjectArray param2, jobjectArray param3, jint param4);
+
+jintArray _duckdb_jdbc_appender_column_widths(JNIEnv * env, jclass param0, jobject param1);
+
+JNIEXPORT jintArray JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1appender_1column_1widths(JNIEnv * env, jclass param0, jobject param1);
+
+void _duckdb_jdbc_appender_append_direct(JNIEnv * env, jclass param0, jobject param1, jobjectArray param2, jobjectArray param3, jint param4);
+
+JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1appender_1append_1direct(JNIEnv * env, jclass param0, jobject param1, jobjectArray param2, jobjectArray param3, jint param4);
+
 void _duckdb_jdbc_create_extension_type(JNIEnv * env, jclass param0, jobject param1);
 
 JNIEXPORT void JNICALL Java_org_duckdb_DuckDBNative_duckdb_1jdbc_1create_1extension_1type(JNIEnv * env, jclass param0, jobject param1);
@@ -0,0 +1,38 @@
+package org.duckdb;
+
+import java.util.List;
+
+/**
+ * An aggregate function implemented in Java, see {@link DuckDBConnection#registerAggregateFunction}. DuckDB aggregates
+ * in parallel: every thread updates states of its own, one per group, which are merged with {@link #combine} before
+ * the result of each group is computed by {@link #finish(List, DuckDBOutputVector)}. The methods are called once
+ * per chunk of up to 2048 rows or states, possibly from several threads at the same time, but a state is only used by
+ * one thread at a time.
+ *
+ * @param <S> the type of the state of a group
+ */
+public interface DuckDBAggregateFunction<S> {
+    /**
+     * @return a new state of a group that no row was added to yet, not null
+     */
+    S createState() throws Exception;
+
+    /**
+     * Adds the rows of {@code input} to their groups. NULL arguments are passed as well.
+     *
+     * @param input the arguments, one column per argument
+     * @param states the state of the group of each row, rows of the same group share their state
+     */
+    void update(DuckDBDataChunk input, List<S> states) throws Exception;
+
+    /**
+     * Merges each of {@code sources} into the state at the same index of {@code targets}, the sources are not used
+     * afterwards.
+     */
+    void combine(List<S> sources, List<S> targets) throws Exception;
+
+    /**
+     * Writes the result of each state to the row at the same index of {@code output}.
+     */
+    void finish(List<S> states, DuckDBOutputVector output) throws Exception;
+}
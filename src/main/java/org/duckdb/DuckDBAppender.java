@@ -1,6 +1,7 @@
 package org.duckdb;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
@@ -85,6 +86,207 @@ public class DuckDBAppender implements AutoCloseable {
         }
     }
 
+    /**
+     * Appends whole columns at once, see {@link #appendColumns(Object[], boolean[][], int)}. The number of rows is
+     * taken from the length of the first column.
+     */
+    public void appendColumns(Object[] columns) throws SQLException {
+        appendColumns(columns, null);
+    }
+
+    /**
+     * Appends whole columns at once, see {@link #appendColumns(Object[], boolean[][], int)}. The number of rows is
+     * taken from the length of the first column.
+     */
+    public void appendColumns(Object[] columns, boolean[][] nullMasks) throws SQLException {
+        if (columns == null) {
+            throw new SQLException("columns cannot be null");
+        }
+        int rowCount = 0;
+        if (columns.length > 0 && columns[0] != null) {
+            if (!columns[0].getClass().isArray()) {
+                throw new SQLException("Unsupported array type for column 1");
+            }
+            rowCount = java.lang.reflect.Array.getLength(columns[0]);
+        }
+        appendColumns(columns, nullMasks, rowCount);
+    }
+
+    /**
+     * Appends the first {@code rowCount} rows of the given columns with a single native call, instead of one call
+     * per value as with {@link #append(int)} and friends. This allows callers to fill (and reuse) plain Java arrays
+     * and hand them over as one batch.
+     *
+     * <p>Every column is one of {@code boolean[]}, {@code byte[]}, {@code short[]}, {@code int[]}, {@code long[]},
+     * {@code float[]}, {@code double[]}, {@code String[]} or {@code byte[][]} and is cast to the type of the table
+     * column if they differ. An {@code int[]} appended to a DATE column holds days since the epoch, a {@code long[]}
+     * appended to a TIME or TIMESTAMP column holds the raw value in the unit of that column (microseconds for TIME,
+     * TIMESTAMP and TIMESTAMP WITH TIME ZONE). {@code byte[][]} columns are appended as-is to BLOB columns.
+     *
+     * <p>Rows appended this way go straight to the appender's buffered data and may be written before rows from
+     * {@link #beginRow()}/{@link #endRow()} that have not been flushed yet; call {@link #flush()} in between when
+     * the order of rows matters.
+     *
+     * @param columns one array per table column, each holding at least {@code rowCount} values
+     * @param nullMasks optional per-column null flags, {@code null} or with {@code null} entries if a column has
+     *                  no NULL values; {@code null} elements of {@code String[]} and {@code byte[][]} columns are
+     *                  always appended as NULL
+     * @param rowCount number of rows to append
+     */
+    public void appendColumns(Object[] columns, boolean[][] nullMasks, int rowCount) throws SQLException {
+        if (columns == null) {
+            throw new SQLException("columns cannot be null");
+        }
+        if (rowCount < 0) {
+            throw new SQLException("rowCount has to be >= 0");
+        }
+        if (nullMasks != null && nullMasks.length != columns.length) {
+            throw new SQLException("Expected " + columns.length + " null masks, got " + nullMasks.length);
+        }
+        Object[] nativeColumns = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] instanceof String[]) {
+                String[] strings = (String[]) columns[i];
+                byte[][] bytes = new byte[Math.min(strings.length, rowCount)][];
+                for (int j = 0; j < bytes.length; j++) {
+                    bytes[j] = strings[j] == null ? null : strings[j].getBytes(StandardCharsets.UTF_8);
+                }
+                nativeColumns[i] = bytes;
+            } else {
+                nativeColumns[i] = columns[i];
+            }
+        }
+        DuckDBNative.duckdb_jdbc_appender_append_columns(appender_ref, nativeColumns, nullMasks, rowCount);
+    }
+
+    /**
+     * Creates a {@link DirectChunk} for this appender that can stage up to {@code capacity} rows off-heap. All
+     * columns of the table need to be fixed-width (numeric, temporal, UUID, ...).
+     */
+    public DirectChunk createDirectChunk(int capacity) throws SQLException {
+        if (capacity <= 0) {
+            throw new SQLException("capacity has to be > 0");
+        }
+        int[] widths = DuckDBNative.duckdb_jdbc_appender_column_widths(appender_ref);
+        for (int i = 0; i < widths.length; i++) {
+            if (widths[i] == 0) {
+                throw new SQLException("Column " + (i + 1) + " is not fixed-width");
+            }
+        }
+        return new DirectChunk(widths, capacity);
+    }
+
+    /**
+     * Appends the first {@code rowCount} rows staged in {@code chunk}. DuckDB reads the values directly from the
+     * chunk's buffers, nothing is copied or boxed on the Java side. The null flags of the chunk are cleared
+     * afterwards so it can be refilled for the next batch.
+     */
+    public void appendDirectChunk(DirectChunk chunk, int rowCount) throws SQLException {
+        if (rowCount < 0 || rowCount > chunk.capacity) {
+            throw new SQLException("rowCount has to be between 0 and " + chunk.capacity);
+        }
+        DuckDBNative.duckdb_jdbc_appender_append_direct(appender_ref, chunk.data,
+                                                        chunk.hasNulls ? chunk.validity : chunk.noValidity, rowCount);
+        chunk.clearNulls();
+    }
+
+    /**
+     * Off-heap staging area for {@link #appendDirectChunk(DirectChunk, int)}. Every column is backed by a direct
+     * {@link ByteBuffer} laid out like a DuckDB vector, i.e. {@code capacity} values of the column's fixed width in
+     * native byte order, plus a validity bitmask with one bit per row (set if the row is valid). Columns are
+     * addressed 0-based. Values of temporal columns are the raw DuckDB representation, e.g. microseconds since the
+     * epoch for TIMESTAMP and days since the epoch for DATE.
+     */
+    public static final class DirectChunk {
+        private final ByteBuffer[] data;
+        private final ByteBuffer[] validity;
+        // passed instead of validity while no NULL has been set, so DuckDB can skip the masks
+        private final ByteBuffer[] noValidity;
+        private final int[] widths;
+        private final int capacity;
+        private boolean hasNulls = true;
+
+        private DirectChunk(int[] widths, int capacity) {
+            this.widths = widths;
+            this.capacity = capacity;
+            this.data = new ByteBuffer[widths.length];
+            this.validity = new ByteBuffer[widths.length];
+            this.noValidity = new ByteBuffer[widths.length];
+            for (int i = 0; i < widths.length; i++) {
+                data[i] = ByteBuffer.allocateDirect(widths[i] * capacity).order(ByteOrder.nativeOrder());
+                validity[i] = ByteBuffer.allocateDirect(((capacity + 63) / 64) * 8).order(ByteOrder.nativeOrder());
+            }
+            clearNulls();
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public int getColumnCount() {
+            return data.length;
+        }
+
+        /**
+         * Returns the data buffer of a column for bulk writes; the value of row {@code r} starts at byte
+         * {@code r * width}.
+         */
+        public ByteBuffer getData(int column) {
+            return data[column];
+        }
+
+        public int getWidth(int column) {
+            return widths[column];
+        }
+
+        public void putBoolean(int column, int row, boolean value) {
+            data[column].put(row, (byte) (value ? 1 : 0));
+        }
+
+        public void putByte(int column, int row, byte value) {
+            data[column].put(row, value);
+        }
+
+        public void putShort(int column, int row, short value) {
+            data[column].putShort(row * 2, value);
+        }
+
+        public void putInt(int column, int row, int value) {
+            data[column].putInt(row * 4, value);
+        }
+
+        public void putLong(int column, int row, long value) {
+            data[column].putLong(row * 8, value);
+        }
+
+        public void putFloat(int column, int row, float value) {
+            data[column].putFloat(row * 4, value);
+        }
+
+        public void putDouble(int column, int row, double value) {
+            data[column].putDouble(row * 8, value);
+        }
+
+        public void setNull(int column, int row) {
+            ByteBuffer mask = validity[column];
+            int word = (row / 64) * 8;
+            mask.putLong(word, mask.getLong(word) & ~(1L << (row % 64)));
+            hasNulls = true;
+        }
+
+        private void clearNulls() {
+            if (!hasNulls) {
+                return;
+            }
+            for (ByteBuffer mask : validity) {
+                for (int i = 0; i < mask.capacity(); i += 8) {
+                    mask.putLong(i, -1L);
+                }
+            }
+            hasNulls = false;
+        }
+    }
+
     protected void finalize() throws Throwable {
         close();
     }
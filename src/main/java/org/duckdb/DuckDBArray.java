@@ -9,19 +9,18 @@ import java.util.Map;
 import static org.duckdb.DuckDBResultSetMetaData.type_to_int;
 
 public class DuckDBArray implements Array {
-    private final Object[] array;
+    private Object[] array;
     private final DuckDBVector vector;
     final int offset, length;
 
-    DuckDBArray(DuckDBVector vector, int offset, int length) throws SQLException {
+    /**
+     * A view of the elements {@code offset} to {@code offset + length - 1} of the vector, which holds the elements of
+     * all rows of a chunk. The elements are only read when requested.
+     */
+    DuckDBArray(DuckDBVector vector, int offset, int length) {
         this.vector = vector;
         this.length = length;
         this.offset = offset;
-
-        array = new Object[length];
-        for (int i = 0; i < length; i++) {
-            array[i] = vector.getObject(offset + i);
-        }
     }
 
     @Override
@@ -30,9 +29,67 @@ public class DuckDBArray implements Array {
     }
     @Override
     public Object getArray() throws SQLException {
+        if (array == null) {
+            Object[] result = new Object[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = vector.getObject(offset + i);
+            }
+            array = result;
+        }
         return array;
     }
 
+    /**
+     * The elements as the primitive array their type maps to if none of them is NULL, otherwise as an
+     * {@code Object[]}.
+     */
+    Object getElements() throws SQLException {
+        if (!vector.hasNull(offset, length)) {
+            switch (vector.duckdb_type) {
+            case INTEGER:
+                return toIntArray();
+            case BIGINT:
+                return toLongArray();
+            case FLOAT:
+                return toFloatArray();
+            case DOUBLE:
+                return toDoubleArray();
+            default:
+                break;
+            }
+        }
+        return getArray();
+    }
+
+    /**
+     * Copies the elements into an {@code int[]} without boxing them, NULL elements read as 0.
+     */
+    public int[] toIntArray() throws SQLException {
+        return vector.getInts(offset, length);
+    }
+
+    /**
+     * Copies the elements into a {@code long[]} without boxing them, NULL elements read as 0.
+     */
+    public long[] toLongArray() throws SQLException {
+        return vector.getLongs(offset, length);
+    }
+
+    /**
+     * Copies the elements into a {@code float[]} without boxing them, NULL elements read as NaN. The elements of a
+     * FLOAT list or array are copied from DuckDB's memory at once.
+     */
+    public float[] toFloatArray() throws SQLException {
+        return vector.getFloats(offset, length);
+    }
+
+    /**
+     * Copies the elements into a {@code double[]} without boxing them, NULL elements read as NaN.
+     */
+    public double[] toDoubleArray() throws SQLException {
+        return vector.getDoubles(offset, length);
+    }
+
     @Override
     public Object getArray(Map<String, Class<?>> map) throws SQLException {
         return getArray();
@@ -85,6 +142,10 @@ public class DuckDBArray implements Array {
 
     @Override
     public String toString() {
-        return Arrays.toString(array);
+        try {
+            return Arrays.toString((Object[]) getArray());
+        } catch (SQLException e) {
+            return e.toString();
+        }
     }
 }
@@ -0,0 +1,103 @@
+package org.duckdb;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * The parts of Arrow's C data interface the driver uses. Arrow is an optional dependency, so they are looked up
+ * reflectively, but only once: exporting or registering a stream calls the cached method handles.
+ */
+final class DuckDBArrow {
+    private static final Class<?> BUFFER_ALLOCATOR;
+    private static final Class<?> ARROW_ARRAY_STREAM;
+    // ArrowArrayStream.wrap(long)
+    private static final MethodHandle WRAP;
+    // ArrowArrayStream.memoryAddress()
+    private static final MethodHandle MEMORY_ADDRESS;
+    // Data.importArrayStream(BufferAllocator, ArrowArrayStream)
+    private static final MethodHandle IMPORT_ARRAY_STREAM;
+    // why the above are null, if Arrow is not on the class path
+    private static final ReflectiveOperationException UNAVAILABLE;
+
+    static {
+        Class<?> buffer_allocator = null;
+        Class<?> arrow_array_stream = null;
+        MethodHandle wrap = null;
+        MethodHandle memory_address = null;
+        MethodHandle import_array_stream = null;
+        ReflectiveOperationException unavailable = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            buffer_allocator = Class.forName("org.apache.arrow.memory.BufferAllocator");
+            arrow_array_stream = Class.forName("org.apache.arrow.c.ArrowArrayStream");
+            Class<?> reader = Class.forName("org.apache.arrow.vector.ipc.ArrowReader");
+            Class<?> data = Class.forName("org.apache.arrow.c.Data");
+            wrap = lookup.findStatic(arrow_array_stream, "wrap", MethodType.methodType(arrow_array_stream, long.class));
+            memory_address = lookup.findVirtual(arrow_array_stream, "memoryAddress", MethodType.methodType(long.class));
+            import_array_stream = lookup.findStatic(data, "importArrayStream",
+                                                    MethodType.methodType(reader, buffer_allocator, arrow_array_stream));
+        } catch (ReflectiveOperationException e) {
+            unavailable = e;
+        }
+        BUFFER_ALLOCATOR = buffer_allocator;
+        ARROW_ARRAY_STREAM = arrow_array_stream;
+        WRAP = wrap;
+        MEMORY_ADDRESS = memory_address;
+        IMPORT_ARRAY_STREAM = import_array_stream;
+        UNAVAILABLE = unavailable;
+    }
+
+    private DuckDBArrow() {
+    }
+
+    private static void checkAvailable() {
+        if (UNAVAILABLE != null) {
+            throw new RuntimeException(UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Checks that Arrow is available and {@code allocator} is a BufferAllocator, before a native stream is created
+     * that would leak if the import failed.
+     */
+    static void checkAllocator(Object allocator) {
+        checkAvailable();
+        if (!BUFFER_ALLOCATOR.isInstance(allocator)) {
+            throw new RuntimeException("Need to pass an Arrow BufferAllocator");
+        }
+    }
+
+    /**
+     * Imports the native ArrowArrayStream at {@code stream_address} as an ArrowReader allocating from
+     * {@code allocator}.
+     */
+    static Object importArrayStream(Object allocator, long stream_address) {
+        checkAllocator(allocator);
+        try {
+            Object stream = WRAP.invoke(stream_address);
+            return IMPORT_ARRAY_STREAM.invoke(allocator, stream);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return the address of the native ArrowArrayStream wrapped by {@code stream}
+     */
+    static long memoryAddress(Object stream) {
+        checkAvailable();
+        if (!ARROW_ARRAY_STREAM.isInstance(stream)) {
+            throw new RuntimeException("Need to pass an ArrowArrayStream");
+        }
+        try {
+            return (long) MEMORY_ADDRESS.invoke(stream);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -11,6 +11,20 @@ public class DuckDBColumnTypeMetaData {
         this.scale = scale;
     }
 
+    // DECIMAL metadata by width and scale, shared by all vectors
+    private static final DuckDBColumnTypeMetaData[] DECIMALS = new DuckDBColumnTypeMetaData[39 * 39];
+
+    static DuckDBColumnTypeMetaData decimal(int width, int scale) {
+        DuckDBColumnTypeMetaData meta = DECIMALS[width * 39 + scale];
+        if (meta == null) {
+            // the physical type DuckDB stores a DECIMAL of this width in
+            int type_size = width <= 4 ? 16 : width <= 9 ? 32 : width <= 18 ? 64 : 128;
+            meta = new DuckDBColumnTypeMetaData((short) type_size, (short) width, (short) scale);
+            DECIMALS[width * 39 + scale] = meta;
+        }
+        return meta;
+    }
+
     public static DuckDBColumnTypeMetaData parseColumnTypeMetadata(String columnTypeDetail) {
         String[] split_details = columnTypeDetail.split(";");
         return new DuckDBColumnTypeMetaData(Short.parseShort(split_details[0].replace("DECIMAL", "")),
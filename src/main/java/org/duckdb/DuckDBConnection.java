@@ -1,7 +1,13 @@
 package org.duckdb;
 
-import java.lang.reflect.InvocationTargetException;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
 import java.nio.charset.StandardCharsets;
 import java.sql.Array;
 import java.sql.Blob;
@@ -23,6 +29,7 @@ import java.sql.Struct;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 public final class DuckDBConnection implements java.sql.Connection {
 
@@ -34,6 +41,9 @@ public final class DuckDBConnection implements java.sql.Connection {
     boolean transactionRunning;
     final String url;
     private final boolean readOnly;
+    final int prefetchChunks;
+    // null unless enabled with the jdbc_prepared_statement_cache_size option
+    final DuckDBStatementCache statementCache;
 
     public static DuckDBConnection newConnection(String url, boolean readOnly, Properties properties)
         throws SQLException {
@@ -44,15 +54,45 @@ public final class DuckDBConnection implements java.sql.Connection {
         if (db_dir.length() == 0) {
             db_dir = ":memory:";
         }
+        int prefetchChunks = 0;
+        int statementCacheSize = 0;
+        if (properties.containsKey(DuckDBDriver.JDBC_PREFETCH_CHUNKS) ||
+            properties.containsKey(DuckDBDriver.JDBC_PREPARED_STATEMENT_CACHE_SIZE)) {
+            // handled on the Java side, DuckDB itself does not know these options
+            properties = (Properties) properties.clone();
+            prefetchChunks = removeCountProperty(properties, DuckDBDriver.JDBC_PREFETCH_CHUNKS);
+            statementCacheSize = removeCountProperty(properties, DuckDBDriver.JDBC_PREPARED_STATEMENT_CACHE_SIZE);
+        }
         ByteBuffer nativeReference =
             DuckDBNative.duckdb_jdbc_startup(db_dir.getBytes(StandardCharsets.UTF_8), readOnly, properties);
-        return new DuckDBConnection(nativeReference, url, readOnly);
+        return new DuckDBConnection(nativeReference, url, readOnly, prefetchChunks, statementCacheSize);
     }
 
-    private DuckDBConnection(ByteBuffer connectionReference, String url, boolean readOnly) throws SQLException {
+    private static int removeCountProperty(Properties properties, String name) throws SQLException {
+        Object value = properties.remove(name);
+        if (value == null) {
+            return 0;
+        }
+        String prop_val = value.toString().trim();
+        int count;
+        try {
+            count = Integer.parseInt(prop_val);
+        } catch (NumberFormatException e) {
+            throw new SQLException("Invalid value for " + name + ": " + prop_val);
+        }
+        if (count < 0) {
+            throw new SQLException("Invalid value for " + name + ": " + prop_val);
+        }
+        return count;
+    }
+
+    private DuckDBConnection(ByteBuffer connectionReference, String url, boolean readOnly, int prefetchChunks,
+                             int statementCacheSize) throws SQLException {
         conn_ref = connectionReference;
         this.url = url;
         this.readOnly = readOnly;
+        this.prefetchChunks = prefetchChunks;
+        this.statementCache = statementCacheSize > 0 ? new DuckDBStatementCache(statementCacheSize) : null;
         DuckDBNative.duckdb_jdbc_set_auto_commit(connectionReference, true);
     }
 
@@ -86,7 +126,8 @@ public final class DuckDBConnection implements java.sql.Connection {
         if (isClosed()) {
             throw new SQLException("Connection is closed");
         }
-        return new DuckDBConnection(DuckDBNative.duckdb_jdbc_connect(conn_ref), url, readOnly);
+        return new DuckDBConnection(DuckDBNative.duckdb_jdbc_connect(conn_ref), url, readOnly, prefetchChunks,
+                                    statementCache == null ? 0 : statementCache.capacity);
     }
 
     public void commit() throws SQLException {
@@ -109,11 +150,27 @@ public final class DuckDBConnection implements java.sql.Connection {
 
     public synchronized void close() throws SQLException {
         if (conn_ref != null) {
+            if (statementCache != null) {
+                statementCache.close();
+            }
             DuckDBNative.duckdb_jdbc_disconnect(conn_ref);
             conn_ref = null;
         }
     }
 
+    /**
+     * Brings the connection back to the state of a new one, rolling back a running transaction and dropping its
+     * settings, temporary objects and registered columns. Used when a pooled connection is handed back.
+     */
+    void reset() throws SQLException {
+        if (isClosed()) {
+            throw new SQLException("Connection was closed");
+        }
+        DuckDBNative.duckdb_jdbc_reset_session(conn_ref);
+        autoCommit = true;
+        transactionRunning = false;
+    }
+
     public boolean isClosed() throws SQLException {
         return conn_ref == null;
     }
@@ -346,22 +403,215 @@ public final class DuckDBConnection implements java.sql.Connection {
         return new DuckDBAppender(this, schemaName, tableName);
     }
 
-    private static long getArrowStreamAddress(Object arrow_array_stream) {
-        try {
-            Class<?> arrow_array_stream_class = Class.forName("org.apache.arrow.c.ArrowArrayStream");
-            if (!arrow_array_stream_class.isInstance(arrow_array_stream)) {
-                throw new RuntimeException("Need to pass an ArrowArrayStream");
-            }
-            return (Long) arrow_array_stream_class.getMethod("memoryAddress").invoke(arrow_array_stream);
+    /**
+     * @return how often a statement was found in the prepared statement cache, 0 if the cache is disabled
+     */
+    public long getPreparedStatementCacheHits() {
+        return statementCache == null ? 0 : statementCache.getHits();
+    }
 
-        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException | SecurityException |
-                 ClassNotFoundException e) {
-            throw new RuntimeException(e);
-        }
+    /**
+     * @return how often a statement had to be prepared although the prepared statement cache is enabled
+     */
+    public long getPreparedStatementCacheMisses() {
+        return statementCache == null ? 0 : statementCache.getMisses();
+    }
+
+    /**
+     * @return how many statements were dropped from the prepared statement cache to stay within its size
+     */
+    public long getPreparedStatementCacheEvictions() {
+        return statementCache == null ? 0 : statementCache.getEvictions();
     }
 
     public void registerArrowStream(String name, Object arrow_array_stream) {
-        long array_stream_address = getArrowStreamAddress(arrow_array_stream);
+        long array_stream_address = DuckDBArrow.memoryAddress(arrow_array_stream);
         DuckDBNative.duckdb_jdbc_arrow_register(conn_ref, array_stream_address, name.getBytes(StandardCharsets.UTF_8));
     }
+
+    /**
+     * Registers a scalar function implemented in Java, callable from SQL as {@code name(...)} for the lifetime of the
+     * database. NULL arguments are passed to the function, which decides the result of such rows.
+     *
+     * @param argTypes the SQL types of the arguments, e.g. {@code "INTEGER"} or {@code "VARCHAR"}
+     * @param returnType the SQL type of the result, a boolean, integer, floating point or string type
+     */
+    public void registerScalarFunction(String name, String[] argTypes, String returnType,
+                                       DuckDBScalarFunction function) throws SQLException {
+        if (isClosed()) {
+            throw new SQLException("Connection was closed");
+        }
+        DuckDBNative.duckdb_jdbc_register_scalar_function(conn_ref, name.getBytes(StandardCharsets.UTF_8),
+                                                          toUtf8(argTypes),
+                                                          returnType.getBytes(StandardCharsets.UTF_8), function);
+    }
+
+    /**
+     * Registers an aggregate function implemented in Java, callable from SQL as {@code name(...)} for the lifetime of
+     * the database. Groups are aggregated in parallel using {@link DuckDBAggregateFunction#combine}.
+     *
+     * @param argTypes the SQL types of the arguments, e.g. {@code "INTEGER"} or {@code "VARCHAR"}
+     * @param returnType the SQL type of the result, a boolean, integer, floating point or string type
+     */
+    public void registerAggregateFunction(String name, String[] argTypes, String returnType,
+                                          DuckDBAggregateFunction<?> function) throws SQLException {
+        if (isClosed()) {
+            throw new SQLException("Connection was closed");
+        }
+        DuckDBNative.duckdb_jdbc_register_aggregate_function(conn_ref, name.getBytes(StandardCharsets.UTF_8),
+                                                             toUtf8(argTypes),
+                                                             returnType.getBytes(StandardCharsets.UTF_8), function);
+    }
+
+    /**
+     * Registers a table function implemented in Java, scanned from SQL as {@code name()} for the lifetime of the
+     * database. Rows are produced on demand by a {@link DuckDBTableProducer} while the table is scanned.
+     *
+     * @param schema the SQL types of the columns by their names, in the iteration order of the map. Columns can be of
+     *     boolean, integer, floating point and string types
+     * @param supplier called whenever the table is scanned, returns the producer of the rows
+     */
+    public void registerTableFunction(String name, Map<String, String> schema,
+                                      Supplier<? extends DuckDBTableProducer> supplier) throws SQLException {
+        registerTableFunction(name, schema, supplier, 1);
+    }
+
+    /**
+     * Registers a table function implemented in Java that is scanned by up to {@code threads} threads at the same
+     * time. The supplier is called once per scanning thread and has to split the rows between the producers it
+     * returns, for instance by {@link java.util.Spliterator#trySplit() splitting} a Spliterator. It may return null
+     * when there is nothing left to split off. Calls of the supplier never overlap, so it needs no synchronization of
+     * its own, but the producers run at the same time.
+     *
+     * @see #registerTableFunction(String, Map, Supplier)
+     */
+    public void registerTableFunction(String name, Map<String, String> schema,
+                                      Supplier<? extends DuckDBTableProducer> supplier, int threads)
+        throws SQLException {
+        if (isClosed()) {
+            throw new SQLException("Connection was closed");
+        }
+        String[] names = schema.keySet().toArray(new String[0]);
+        String[] types = schema.values().toArray(new String[0]);
+        DuckDBNative.duckdb_jdbc_register_table_function(conn_ref, name.getBytes(StandardCharsets.UTF_8),
+                                                         toUtf8(names), toUtf8(types), supplier, threads);
+    }
+
+    /**
+     * Registers columns of Java values as a temporary view {@code name} of this connection, scanned in parallel with
+     * projections and filters pushed down into the scan. Columns are given as primitive arrays, which are copied once
+     * when registering them, or as direct buffers in native byte order, which are scanned in place and must not be
+     * modified while registered. Registering again under the same name replaces the columns.
+     *
+     * @param columns the values of the columns by their names, in the iteration order of the map, all of the same
+     *     length: {@code long[]} or {@link LongBuffer} as BIGINT, {@code int[]} or {@link IntBuffer} as INTEGER,
+     *     {@code short[]} or {@link ShortBuffer} as SMALLINT, {@code byte[]} or {@link ByteBuffer} as TINYINT,
+     *     {@code double[]} or {@link DoubleBuffer} as DOUBLE and {@code float[]} or {@link FloatBuffer} as FLOAT. The
+     *     remaining values of a buffer are registered, typed buffers are obtained as views of a direct ByteBuffer such
+     *     as {@code ByteBuffer.allocateDirect(n * 8).order(ByteOrder.nativeOrder()).asLongBuffer()}
+     */
+    public void registerColumns(String name, Map<String, Object> columns) throws SQLException {
+        if (isClosed()) {
+            throw new SQLException("Connection was closed");
+        }
+        String[] names = columns.keySet().toArray(new String[0]);
+        String[] types = new String[names.length];
+        Object[] values = new Object[names.length];
+        long rowCount = -1;
+        int i = 0;
+        for (Object column : columns.values()) {
+            int length;
+            if (column instanceof Buffer) {
+                Buffer buffer = (Buffer) column;
+                if (!buffer.isDirect()) {
+                    throw new SQLException("Column " + names[i] + " is not a direct buffer");
+                }
+                types[i] = columnType(names[i], buffer);
+                length = buffer.remaining();
+                values[i] = sliceOf(buffer);
+            } else {
+                types[i] = columnType(names[i], column);
+                length = java.lang.reflect.Array.getLength(column);
+                values[i] = column;
+            }
+            if (rowCount != -1 && rowCount != length) {
+                throw new SQLException("Column " + names[i] + " has " + length + " values instead of " + rowCount);
+            }
+            rowCount = length;
+            i++;
+        }
+        DuckDBNative.duckdb_jdbc_register_columns(conn_ref, name.getBytes(StandardCharsets.UTF_8), toUtf8(names),
+                                                  toUtf8(types), values, Math.max(rowCount, 0));
+    }
+
+    private static String columnType(String name, Buffer buffer) throws SQLException {
+        ByteOrder order;
+        String type;
+        if (buffer instanceof ByteBuffer) {
+            return "TINYINT";
+        } else if (buffer instanceof LongBuffer) {
+            order = ((LongBuffer) buffer).order();
+            type = "BIGINT";
+        } else if (buffer instanceof IntBuffer) {
+            order = ((IntBuffer) buffer).order();
+            type = "INTEGER";
+        } else if (buffer instanceof ShortBuffer) {
+            order = ((ShortBuffer) buffer).order();
+            type = "SMALLINT";
+        } else if (buffer instanceof DoubleBuffer) {
+            order = ((DoubleBuffer) buffer).order();
+            type = "DOUBLE";
+        } else if (buffer instanceof FloatBuffer) {
+            order = ((FloatBuffer) buffer).order();
+            type = "FLOAT";
+        } else {
+            throw new SQLException("Unsupported buffer " + buffer.getClass().getName() + " for column " + name);
+        }
+        if (order != ByteOrder.nativeOrder()) {
+            throw new SQLException("Column " + name + " is not in native byte order");
+        }
+        return type;
+    }
+
+    private static String columnType(String name, Object array) throws SQLException {
+        if (array instanceof long[]) {
+            return "BIGINT";
+        } else if (array instanceof int[]) {
+            return "INTEGER";
+        } else if (array instanceof short[]) {
+            return "SMALLINT";
+        } else if (array instanceof byte[]) {
+            return "TINYINT";
+        } else if (array instanceof double[]) {
+            return "DOUBLE";
+        } else if (array instanceof float[]) {
+            return "FLOAT";
+        }
+        throw new SQLException("Unsupported values " + (array == null ? "null" : array.getClass().getName()) +
+                               " for column " + name);
+    }
+
+    // the address of a slice is the one of the first remaining value
+    private static Buffer sliceOf(Buffer buffer) {
+        if (buffer instanceof ByteBuffer) {
+            return ((ByteBuffer) buffer).slice();
+        } else if (buffer instanceof LongBuffer) {
+            return ((LongBuffer) buffer).slice();
+        } else if (buffer instanceof IntBuffer) {
+            return ((IntBuffer) buffer).slice();
+        } else if (buffer instanceof ShortBuffer) {
+            return ((ShortBuffer) buffer).slice();
+        } else if (buffer instanceof DoubleBuffer) {
+            return ((DoubleBuffer) buffer).slice();
+        }
+        return ((FloatBuffer) buffer).slice();
+    }
+
+    private static byte[][] toUtf8(String[] strings) {
+        byte[][] result = new byte[strings.length][];
+        for (int i = 0; i < strings.length; i++) {
+            result[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,92 @@
+package org.duckdb;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+
+/**
+ * A chunk of rows handed to a Java function, read column by column. Columns and rows are counted from 0.
+ */
+public final class DuckDBDataChunk {
+    private final DuckDBVector[] columns;
+    private final int row_count;
+
+    DuckDBDataChunk(DuckDBVector[] columns, int row_count) {
+        this.columns = columns;
+        this.row_count = row_count;
+    }
+
+    public int getRowCount() {
+        return row_count;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public boolean isNull(int column, int row) {
+        return columns[column].check_and_null(row);
+    }
+
+    public boolean getBoolean(int column, int row) throws SQLException {
+        return columns[column].getBoolean(row);
+    }
+
+    public byte getByte(int column, int row) throws SQLException {
+        return columns[column].getByte(row);
+    }
+
+    public short getShort(int column, int row) throws SQLException {
+        return columns[column].getShort(row);
+    }
+
+    public int getInt(int column, int row) throws SQLException {
+        return columns[column].getInt(row);
+    }
+
+    public long getLong(int column, int row) throws SQLException {
+        return columns[column].getLong(row);
+    }
+
+    public float getFloat(int column, int row) throws SQLException {
+        return columns[column].getFloat(row);
+    }
+
+    public double getDouble(int column, int row) throws SQLException {
+        return columns[column].getDouble(row);
+    }
+
+    public BigDecimal getBigDecimal(int column, int row) throws SQLException {
+        return columns[column].getBigDecimal(row);
+    }
+
+    public String getString(int column, int row) {
+        return columns[column].getLazyString(row);
+    }
+
+    public Object getObject(int column, int row) throws SQLException {
+        return columns[column].getObject(row);
+    }
+
+    /**
+     * Copies a column into {@code dst}. The values of NULL rows are undefined, use {@link #isNull} to tell them apart.
+     *
+     * @return the number of values copied
+     */
+    public int getInts(int column, int[] dst) throws SQLException {
+        return columns[column].getInts(dst);
+    }
+
+    /**
+     * Copies a column into {@code dst}, see {@link #getInts}.
+     */
+    public int getLongs(int column, long[] dst) throws SQLException {
+        return columns[column].getLongs(dst);
+    }
+
+    /**
+     * Copies a column into {@code dst}, see {@link #getInts}.
+     */
+    public int getDoubles(int column, double[] dst) throws SQLException {
+        return columns[column].getDoubles(dst);
+    }
+}
@@ -0,0 +1,394 @@
+package org.duckdb;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * A {@link javax.sql.DataSource} handing out connections from a bounded pool over a single database, which is opened
+ * once when the data source is created. The connections of the pool are created upfront, further connections are
+ * never opened. Closing a connection closes its statements and hands it back to the pool, which rolls back its
+ * transaction and drops its settings, temporary objects and registered columns before handing it out again.
+ *
+ * <p>{@code unwrap(DuckDBConnection.class)} returns the underlying connection for the DuckDB specific methods, such as
+ * appenders and Java functions. It must not be used or closed after the connection it was unwrapped from was closed.
+ *
+ * <pre>
+ * DuckDBDataSource dataSource = new DuckDBDataSource("jdbc:duckdb:/tmp/my.db", 8);
+ * try (Connection conn = dataSource.getConnection()) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class DuckDBDataSource implements javax.sql.DataSource, AutoCloseable {
+
+    // keeps the database open while the pooled connections come and go
+    private final DuckDBConnection root;
+    private final int maxConnections;
+    // most recently used first, so connections with warm caches are handed out again
+    private final ArrayDeque<DuckDBConnection> idle = new ArrayDeque<>();
+    private int active = 0;
+    private long waitNanos = 0;
+    private boolean closed = false;
+    private int loginTimeout = 0;
+    private PrintWriter logWriter;
+
+    public DuckDBDataSource(String url, int maxConnections) throws SQLException {
+        this(url, new Properties(), maxConnections);
+    }
+
+    /**
+     * @param properties the options of the database and of its connections, as passed to
+     *     {@link DuckDBDriver#connect(String, Properties)}
+     * @param maxConnections how many connections can be in use at the same time
+     */
+    public DuckDBDataSource(String url, Properties properties, int maxConnections) throws SQLException {
+        if (maxConnections < 1) {
+            throw new SQLException("A data source needs at least one connection");
+        }
+        Connection conn = new DuckDBDriver().connect(url, properties);
+        if (conn == null) {
+            throw new SQLException("DuckDB JDBC URL needs to start with 'jdbc:duckdb:'");
+        }
+        this.root = conn.unwrap(DuckDBConnection.class);
+        this.maxConnections = maxConnections;
+        try {
+            for (int i = 0; i < maxConnections; i++) {
+                idle.push((DuckDBConnection) root.duplicate());
+            }
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Takes a connection from the pool, waiting for one to be handed back if all are in use. Waits at most the
+     * {@link #setLoginTimeout(int) login timeout} if there is one.
+     *
+     * @throws SQLTimeoutException if no connection was handed back within the login timeout
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        DuckDBConnection conn = acquire();
+        PooledConnection pooled = new PooledConnection(conn);
+        return (Connection) Proxy.newProxyInstance(DuckDBDataSource.class.getClassLoader(),
+                                                   new Class<?>[] {Connection.class}, pooled);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getConnection with credentials");
+    }
+
+    private synchronized DuckDBConnection acquire() throws SQLException {
+        long start = System.nanoTime();
+        long timeout = TimeUnit.SECONDS.toNanos(loginTimeout);
+        try {
+            while (true) {
+                if (closed) {
+                    throw new SQLException("Data source was closed");
+                }
+                DuckDBConnection conn = idle.poll();
+                if (conn == null && active < maxConnections) {
+                    // replaces a connection that was discarded
+                    conn = (DuckDBConnection) root.duplicate();
+                }
+                if (conn != null) {
+                    active++;
+                    return conn;
+                }
+                if (timeout == 0) {
+                    wait();
+                    continue;
+                }
+                long remaining = timeout - (System.nanoTime() - start);
+                if (remaining <= 0) {
+                    throw new SQLTimeoutException("No connection was available within " + loginTimeout + " seconds");
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        } finally {
+            waitNanos += System.nanoTime() - start;
+        }
+    }
+
+    private void release(DuckDBConnection conn) {
+        boolean reusable;
+        try {
+            conn.reset();
+            reusable = true;
+        } catch (SQLException e) {
+            reusable = false;
+        }
+        synchronized (this) {
+            active--;
+            if (reusable && !closed) {
+                idle.push(conn);
+                conn = null;
+            }
+            notify();
+        }
+        if (conn != null) {
+            closeQuietly(conn);
+        }
+    }
+
+    /**
+     * Closes the idle connections and the database, connections in use are closed when they are handed back.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        DuckDBConnection conn;
+        while ((conn = pollIdle()) != null) {
+            closeQuietly(conn);
+        }
+        closeQuietly(root);
+    }
+
+    private synchronized DuckDBConnection pollIdle() {
+        return idle.poll();
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // it is gone either way
+        }
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return how many connections are in use
+     */
+    public synchronized int getActiveConnections() {
+        return active;
+    }
+
+    /**
+     * @return how many connections are in the pool, ready to be handed out
+     */
+    public synchronized int getIdleConnections() {
+        return idle.size();
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * @return the total time in nanoseconds that callers of {@link #getConnection()} spent waiting for a connection
+     */
+    public synchronized long getWaitTimeNanos() {
+        return waitNanos;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return logWriter;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        this.logWriter = out;
+    }
+
+    /**
+     * @param seconds how long {@link #getConnection()} waits for a connection when all are in use, 0 to wait until
+     *     one is handed back
+     */
+    @Override
+    public synchronized void setLoginTimeout(int seconds) throws SQLException {
+        if (seconds < 0) {
+            throw new SQLException("Invalid login timeout: " + seconds);
+        }
+        this.loginTimeout = seconds;
+    }
+
+    @Override
+    public synchronized int getLoginTimeout() throws SQLException {
+        return loginTimeout;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("no logger");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return JdbcUtils.unwrap(this, iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * A connection handed out by the pool, closing it closes its statements and hands the underlying connection back.
+     */
+    private final class PooledConnection implements InvocationHandler {
+        private final DuckDBConnection conn;
+        private final Set<Statement> statements = new HashSet<>();
+        private boolean closed = false;
+
+        PooledConnection(DuckDBConnection conn) {
+            this.conn = conn;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Pooled " + conn;
+            case "close":
+                close();
+                return null;
+            case "isClosed":
+                return isClosed();
+            case "unwrap":
+                // only DuckDBConnection leads to the underlying connection
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return proxy;
+                }
+                break;
+            default:
+                break;
+            }
+            if (isClosed()) {
+                throw new SQLException("Connection was closed");
+            }
+            Object result;
+            try {
+                result = method.invoke(conn, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Statement) {
+                return track((Connection) proxy, (Statement) result, method.getReturnType());
+            }
+            return result;
+        }
+
+        // the statement as seen by the user of the pooled connection, closed with it
+        private Statement track(Connection proxy, Statement stmt, Class<?> iface) throws SQLException {
+            synchronized (this) {
+                if (!closed) {
+                    statements.add(stmt);
+                    return (Statement) Proxy.newProxyInstance(DuckDBDataSource.class.getClassLoader(),
+                                                              new Class<?>[] {iface},
+                                                              new PooledStatement(this, proxy, stmt));
+                }
+            }
+            // closed concurrently
+            closeQuietly(stmt);
+            throw new SQLException("Connection was closed");
+        }
+
+        private synchronized void untrack(Statement stmt) {
+            statements.remove(stmt);
+        }
+
+        private void close() {
+            List<Statement> open;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                open = new ArrayList<>(statements);
+                statements.clear();
+            }
+            for (Statement stmt : open) {
+                closeQuietly(stmt);
+            }
+            release(conn);
+        }
+
+        private synchronized boolean isClosed() {
+            return closed;
+        }
+    }
+
+    /**
+     * A statement of a pooled connection, which returns the pooled connection rather than the underlying one.
+     */
+    private static final class PooledStatement implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final Connection conn;
+        private final Statement stmt;
+
+        PooledStatement(PooledConnection pooled, Connection conn, Statement stmt) {
+            this.pooled = pooled;
+            this.conn = conn;
+            this.stmt = stmt;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Pooled " + stmt;
+            case "close":
+                pooled.untrack(stmt);
+                stmt.close();
+                return null;
+            case "getConnection":
+                if (stmt.isClosed()) {
+                    throw new SQLException("Statement was closed");
+                }
+                return conn;
+            case "unwrap":
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return proxy;
+                }
+                break;
+            default:
+                break;
+            }
+            try {
+                return method.invoke(stmt, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -13,6 +13,8 @@ public class DuckDBDriver implements java.sql.Driver {
     public static final String DUCKDB_READONLY_PROPERTY = "duckdb.read_only";
     public static final String DUCKDB_USER_AGENT_PROPERTY = "custom_user_agent";
     public static final String JDBC_STREAM_RESULTS = "jdbc_stream_results";
+    public static final String JDBC_PREFETCH_CHUNKS = "jdbc_prefetch_chunks";
+    public static final String JDBC_PREPARED_STATEMENT_CACHE_SIZE = "jdbc_prepared_statement_cache_size";
 
     static {
         try {
@@ -11,6 +11,7 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.sql.SQLException;
 import java.util.Properties;
+import java.util.function.Supplier;
 import java.math.BigDecimal;
 
 class DuckDBNative {
@@ -80,6 +81,8 @@ class DuckDBNative {
     protected static native void duckdb_jdbc_set_auto_commit(ByteBuffer conn_ref, boolean auto_commit)
         throws SQLException;
 
+    protected static native void duckdb_jdbc_reset_session(ByteBuffer conn_ref) throws SQLException;
+
     protected static native boolean duckdb_jdbc_get_auto_commit(ByteBuffer conn_ref) throws SQLException;
 
     protected static native void duckdb_jdbc_disconnect(ByteBuffer conn_ref);
@@ -103,21 +106,67 @@ class DuckDBNative {
     protected static native DuckDBResultSetMetaData duckdb_jdbc_prepared_statement_meta(ByteBuffer stmt_ref)
         throws SQLException;
 
+    // whether the statement can be kept for re-execution in place of preparing the same SQL again
+    protected static native boolean duckdb_jdbc_prepared_statement_cacheable(ByteBuffer stmt_ref) throws SQLException;
+
+    // whether the catalog changed since the statement was bound, making its result metadata possibly stale
+    protected static native boolean duckdb_jdbc_prepared_statement_outdated(ByteBuffer stmt_ref) throws SQLException;
+
     // returns res_ref result reference object
-    protected static native ByteBuffer duckdb_jdbc_execute(ByteBuffer stmt_ref, Object[] params) throws SQLException;
+    // the parameters as laid out by DuckDBParameters
+    protected static native ByteBuffer duckdb_jdbc_execute(ByteBuffer stmt_ref, byte[] param_types, long[] param_values,
+                                                           Object[] param_objects) throws SQLException;
+
+    // executes the statement once per parameter set, the sets are laid out back-to-back, returns the update counts
+    protected static native int[] duckdb_jdbc_execute_batch(ByteBuffer stmt_ref, int batch_size, byte[] param_types,
+                                                            long[] param_values, Object[] param_objects)
+        throws SQLException;
 
     protected static native void duckdb_jdbc_free_result(ByteBuffer res_ref);
 
-    protected static native DuckDBVector[] duckdb_jdbc_fetch(ByteBuffer res_ref, ByteBuffer conn_ref)
+    // fetch_size 0 returns the next chunk as produced by DuckDB
+    protected static native DuckDBVector[] duckdb_jdbc_fetch(ByteBuffer res_ref, ByteBuffer conn_ref, int fetch_size)
         throws SQLException;
 
+    protected static native void duckdb_jdbc_retain_chunks(ByteBuffer res_ref, int chunk_count) throws SQLException;
+
     protected static native int duckdb_jdbc_fetch_size();
 
     protected static native long duckdb_jdbc_arrow_stream(ByteBuffer res_ref, long batch_size);
 
+    // stream_count ArrowArrayStreams that each return a part of the batches of the result
+    protected static native long[] duckdb_jdbc_arrow_streams(ByteBuffer res_ref, long batch_size, int stream_count);
+
+    // releases an ArrowArrayStream that was not imported into Arrow for Java
+    protected static native void duckdb_jdbc_arrow_stream_release(long arrow_array_stream_pointer);
+
+    // consumes and releases an ArrowArrayStream whose first column is a BIGINT without NULLs, returning that column;
+    // lets the tests read the exported streams without Arrow for Java. Fails for streams of any other schema.
+    protected static native long[] duckdb_jdbc_arrow_stream_read_longs(long arrow_array_stream_pointer)
+        throws SQLException;
+
     protected static native void duckdb_jdbc_arrow_register(ByteBuffer conn_ref, long arrow_array_stream_pointer,
                                                             byte[] name);
 
+    protected static native void duckdb_jdbc_register_scalar_function(ByteBuffer conn_ref, byte[] name,
+                                                                      byte[][] arg_types, byte[] return_type,
+                                                                      DuckDBScalarFunction function)
+        throws SQLException;
+
+    protected static native void duckdb_jdbc_register_aggregate_function(ByteBuffer conn_ref, byte[] name,
+                                                                         byte[][] arg_types, byte[] return_type,
+                                                                         DuckDBAggregateFunction<?> function)
+        throws SQLException;
+
+    protected static native void duckdb_jdbc_register_table_function(ByteBuffer conn_ref, byte[] name,
+                                                                     byte[][] column_names, byte[][] column_types,
+                                                                     Supplier<? extends DuckDBTableProducer> supplier,
+                                                                     int max_threads) throws SQLException;
+
+    protected static native void duckdb_jdbc_register_columns(ByteBuffer conn_ref, byte[] name, byte[][] column_names,
+                                                              byte[][] column_types, Object[] columns, long row_count)
+        throws SQLException;
+
     protected static native ByteBuffer duckdb_jdbc_create_appender(ByteBuffer conn_ref, byte[] schema_name,
                                                                    byte[] table_name) throws SQLException;
 
@@ -163,6 +212,16 @@ class DuckDBNative {
 
     protected static native void duckdb_jdbc_appender_append_null(ByteBuffer appender_ref) throws SQLException;
 
+    protected static native void duckdb_jdbc_appender_append_columns(ByteBuffer appender_ref, Object[] columns,
+                                                                     boolean[][] null_masks, int row_count)
+        throws SQLException;
+
+    protected static native int[] duckdb_jdbc_appender_column_widths(ByteBuffer appender_ref) throws SQLException;
+
+    protected static native void duckdb_jdbc_appender_append_direct(ByteBuffer appender_ref, ByteBuffer[] data,
+                                                                    ByteBuffer[] validity, int row_count)
+        throws SQLException;
+
     protected static native void duckdb_jdbc_create_extension_type(ByteBuffer conn_ref) throws SQLException;
 
     public static void duckdb_jdbc_create_extension_type(DuckDBConnection conn) throws SQLException {
@@ -0,0 +1,145 @@
+package org.duckdb;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * The result column a Java function writes for one chunk, rows are counted from 0, and rows that are not set are NULL.
+ * Fixed-width values are written straight into DuckDB's vector. VARCHAR and BLOB values are collected and copied into
+ * the vector at once when the function returns.
+ */
+public final class DuckDBOutputVector {
+    private static final int INITIAL_STRING_CAPACITY = 4096;
+
+    private final DuckDBColumnType type;
+    private final int length;
+    // the vector's data for fixed-width types of width bytes, null for VARCHAR and BLOB
+    private final ByteBuffer data;
+    private final int width;
+    // DuckDB's validity bitmap of the vector, all rows start out NULL
+    private final ByteBuffer validity;
+    // VARCHAR and BLOB: the bytes of all rows back-to-back, row i is string_lengths[i] bytes at string_starts[i] or
+    // NULL if its length is -1. Read natively after the function returned.
+    private byte[] string_data;
+    private int string_size;
+    private final int[] string_starts;
+    private final int[] string_lengths;
+
+    private static final DuckDBColumnType[] COLUMN_TYPES = DuckDBColumnType.values();
+
+    DuckDBOutputVector(int column_type, int length, int width, ByteBuffer data, ByteBuffer validity) {
+        this.type = COLUMN_TYPES[column_type];
+        this.length = length;
+        this.data = data == null ? null : data.order(ByteOrder.LITTLE_ENDIAN);
+        this.width = width;
+        this.validity = validity.order(ByteOrder.nativeOrder());
+        if (data == null) {
+            string_data = new byte[INITIAL_STRING_CAPACITY];
+            string_starts = new int[length];
+            string_lengths = new int[length];
+            Arrays.fill(string_lengths, -1);
+        } else {
+            string_starts = null;
+            string_lengths = null;
+        }
+    }
+
+    public DuckDBColumnType getType() {
+        return type;
+    }
+
+    public int getRowCount() {
+        return length;
+    }
+
+    public void setNull(int row) {
+        int word = (row >>> 6) * 8;
+        validity.putLong(word, validity.getLong(word) & ~(1L << row));
+        if (string_lengths != null) {
+            string_lengths[row] = -1;
+        }
+    }
+
+    public void setBoolean(int row, boolean value) throws SQLException {
+        fixed(row, 1, DuckDBColumnType.BOOLEAN).put(row, (byte) (value ? 1 : 0));
+    }
+
+    public void setByte(int row, byte value) throws SQLException {
+        fixed(row, 1, null).put(row, value);
+    }
+
+    public void setShort(int row, short value) throws SQLException {
+        fixed(row, 2, null).putShort(row * 2, value);
+    }
+
+    public void setInt(int row, int value) throws SQLException {
+        fixed(row, 4, null).putInt(row * 4, value);
+    }
+
+    public void setLong(int row, long value) throws SQLException {
+        fixed(row, 8, null).putLong(row * 8, value);
+    }
+
+    public void setFloat(int row, float value) throws SQLException {
+        fixed(row, 4, DuckDBColumnType.FLOAT).putFloat(row * 4, value);
+    }
+
+    public void setDouble(int row, double value) throws SQLException {
+        fixed(row, 8, DuckDBColumnType.DOUBLE).putDouble(row * 8, value);
+    }
+
+    public void setString(int row, String value) throws SQLException {
+        if (value == null) {
+            setNull(row);
+            return;
+        }
+        setBytes(row, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void setBytes(int row, byte[] value) throws SQLException {
+        if (value == null) {
+            setNull(row);
+            return;
+        }
+        if (data != null) {
+            throw new SQLException("Cannot write strings to a " + type + " column");
+        }
+        if (string_size + value.length > string_data.length) {
+            long capacity = Math.max((long) string_data.length * 2, (long) string_size + value.length);
+            if (capacity > Integer.MAX_VALUE - 8) {
+                throw new SQLException("String data of a single vector exceeds 2GB");
+            }
+            string_data = Arrays.copyOf(string_data, (int) capacity);
+        }
+        System.arraycopy(value, 0, string_data, string_size, value.length);
+        string_starts[row] = string_size;
+        string_lengths[row] = value.length;
+        string_size += value.length;
+        setValid(row);
+    }
+
+    /**
+     * The vector's data after checking that it holds values of {@code value_width} bytes, and of {@code value_type} if
+     * that is given, and marking {@code row} valid.
+     */
+    private ByteBuffer fixed(int row, int value_width, DuckDBColumnType value_type) throws SQLException {
+        if (data == null || width != value_width || (value_type != null && type != value_type) ||
+            (value_type == null && (type == DuckDBColumnType.FLOAT || type == DuckDBColumnType.DOUBLE))) {
+            throw new SQLException("Cannot write a " + (value_type == null ? value_width + "-byte integer" : value_type) +
+                                   " to a " + type + " column");
+        }
+        setValid(row);
+        return data;
+    }
+
+    private void setValid(int row) {
+        int word = (row >>> 6) * 8;
+        long bits = validity.getLong(word);
+        if ((bits & (1L << row)) == 0) {
+            validity.putLong(word, bits | (1L << row));
+        }
+    }
+}
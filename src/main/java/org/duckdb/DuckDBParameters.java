@@ -0,0 +1,201 @@
+package org.duckdb;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * The values bound to the parameters of a prepared statement, kept in the layout the native side decodes in one pass:
+ * a type tag per parameter, two longs of primitive payload per parameter and a side array for the values that stay
+ * objects (UTF-8 encoded strings, blobs and decimals). Primitive setters therefore neither box nor cause JNI upcalls.
+ */
+final class DuckDBParameters {
+    // keep in sync with ParameterType in duckdb_java.cpp
+    static final byte NULL = 0;
+    static final byte BOOLEAN = 1;
+    static final byte TINYINT = 2;
+    static final byte SMALLINT = 3;
+    static final byte INTEGER = 4;
+    static final byte BIGINT = 5;
+    static final byte FLOAT = 6;
+    static final byte DOUBLE = 7;
+    static final byte DATE = 8;
+    static final byte TIME = 9;
+    static final byte TIMESTAMP = 10;
+    static final byte TIMESTAMP_TZ = 11;
+    static final byte UUID = 12;
+    static final byte DECIMAL = 13;
+    static final byte VARCHAR = 14;
+    static final byte BLOB = 15;
+    // the element type is kept in the payload, the elements are a primitive array or nested DuckDBParameters
+    static final byte LIST = 16;
+
+    static final DuckDBParameters NONE = new DuckDBParameters(0);
+
+    final byte[] types;
+    final long[] values;
+    final Object[] objects;
+
+    DuckDBParameters(int count) {
+        this.types = new byte[count];
+        this.values = new long[count * 2];
+        this.objects = new Object[count];
+    }
+
+    int size() {
+        return types.length;
+    }
+
+    void setNull(int index) {
+        set(index, NULL, 0);
+    }
+
+    void setBoolean(int index, boolean x) {
+        set(index, BOOLEAN, x ? 1 : 0);
+    }
+
+    void setByte(int index, byte x) {
+        set(index, TINYINT, x);
+    }
+
+    void setShort(int index, short x) {
+        set(index, SMALLINT, x);
+    }
+
+    void setInt(int index, int x) {
+        set(index, INTEGER, x);
+    }
+
+    void setLong(int index, long x) {
+        set(index, BIGINT, x);
+    }
+
+    void setFloat(int index, float x) {
+        set(index, FLOAT, Float.floatToRawIntBits(x));
+    }
+
+    void setDouble(int index, double x) {
+        set(index, DOUBLE, Double.doubleToRawLongBits(x));
+    }
+
+    void setString(int index, String x) {
+        if (x == null) {
+            setNull(index);
+            return;
+        }
+        setObject(index, VARCHAR, x.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void setObject(int index, Object x) throws SQLException {
+        // Change sql.Timestamp to DuckDBTimestamp
+        if (x instanceof Timestamp) {
+            x = new DuckDBTimestamp((Timestamp) x);
+        } else if (x instanceof LocalDateTime) {
+            x = new DuckDBTimestamp((LocalDateTime) x);
+        } else if (x instanceof OffsetDateTime) {
+            x = new DuckDBTimestampTZ((OffsetDateTime) x);
+        } else if (x instanceof Date) {
+            x = new DuckDBDate((Date) x);
+        } else if (x instanceof Time) {
+            x = new DuckDBTime((Time) x);
+        }
+        if (x == null) {
+            setNull(index);
+        } else if (x instanceof Boolean) {
+            setBoolean(index, (Boolean) x);
+        } else if (x instanceof Byte) {
+            setByte(index, (Byte) x);
+        } else if (x instanceof Short) {
+            setShort(index, (Short) x);
+        } else if (x instanceof Integer) {
+            setInt(index, (Integer) x);
+        } else if (x instanceof Long) {
+            setLong(index, (Long) x);
+        } else if (x instanceof DuckDBTimestampTZ) { // Check for subclass before superclass!
+            set(index, TIMESTAMP_TZ, ((DuckDBTimestampTZ) x).getMicrosEpoch());
+        } else if (x instanceof DuckDBDate) {
+            set(index, DATE, ((DuckDBDate) x).getDaysSinceEpoch());
+        } else if (x instanceof DuckDBTime) {
+            set(index, TIME, ((DuckDBTime) x).getMicrosEpoch());
+        } else if (x instanceof DuckDBTimestamp) {
+            set(index, TIMESTAMP, ((DuckDBTimestamp) x).getMicrosEpoch());
+        } else if (x instanceof Float) {
+            setFloat(index, (Float) x);
+        } else if (x instanceof Double) {
+            setDouble(index, (Double) x);
+        } else if (x instanceof BigDecimal) {
+            setObject(index, DECIMAL, x);
+        } else if (x instanceof String) {
+            setString(index, (String) x);
+        } else if (x instanceof byte[]) {
+            setObject(index, BLOB, x);
+        } else if (x instanceof java.util.UUID) {
+            java.util.UUID uuid = (java.util.UUID) x;
+            set(index, UUID, uuid.getMostSignificantBits());
+            values[index * 2 + 1] = uuid.getLeastSignificantBits();
+        } else if (x instanceof int[]) {
+            setList(index, INTEGER, x);
+        } else if (x instanceof long[]) {
+            setList(index, BIGINT, x);
+        } else if (x instanceof float[]) {
+            setList(index, FLOAT, x);
+        } else if (x instanceof double[]) {
+            setList(index, DOUBLE, x);
+        } else if (x instanceof Object[]) {
+            Object[] elements = (Object[]) x;
+            DuckDBParameters list = new DuckDBParameters(elements.length);
+            for (int i = 0; i < elements.length; i++) {
+                list.setObject(i, elements[i]);
+            }
+            setList(index, NULL, list);
+        } else if (x instanceof DuckDBArray) {
+            setObject(index, ((DuckDBArray) x).getElements());
+        } else if (x instanceof Array) {
+            setObject(index, ((Array) x).getArray());
+        } else {
+            throw new SQLException("Unsupported parameter type " + x.getClass().getName());
+        }
+    }
+
+    private void set(int index, byte type, long value) {
+        types[index] = type;
+        values[index * 2] = value;
+        objects[index] = null;
+    }
+
+    private void setObject(int index, byte type, Object value) {
+        types[index] = type;
+        objects[index] = value;
+    }
+
+    private void setList(int index, byte elementType, Object elements) {
+        setObject(index, LIST, elements);
+        values[index * 2] = elementType;
+    }
+
+    /**
+     * Lays out the parameter sets of a batch back-to-back, so that they are passed to the native side at once.
+     */
+    static DuckDBParameters concat(List<DuckDBParameters> batch) {
+        int count = 0;
+        for (DuckDBParameters params : batch) {
+            count += params.size();
+        }
+        DuckDBParameters result = new DuckDBParameters(count);
+        int offset = 0;
+        for (DuckDBParameters params : batch) {
+            System.arraycopy(params.types, 0, result.types, offset, params.size());
+            System.arraycopy(params.values, 0, result.values, offset * 2, params.size() * 2);
+            System.arraycopy(params.objects, 0, result.objects, offset, params.size());
+            offset += params.size();
+        }
+        return result;
+    }
+}
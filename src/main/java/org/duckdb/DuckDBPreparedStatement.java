@@ -50,9 +50,12 @@ public class DuckDBPreparedStatement implements PreparedStatement {
     private boolean returnsNothing = false;
     private boolean returnsResultSet = false;
     boolean closeOnCompletion = false;
-    private Object[] params = new Object[0];
+    int fetchSize = 0;
+    private DuckDBParameters params = null;
+    // the SQL stmt_ref is cached under once released, null if it is not cacheable
+    private String cacheKey = null;
     private DuckDBResultSetMetaData meta = null;
-    private final List<Object[]> batchedParams = new ArrayList<>();
+    private final List<DuckDBParameters> batchedParams = new ArrayList<>();
     private final List<String> batchedStatements = new ArrayList<>();
     private Boolean isBatch = false;
     private Boolean isPreparedStatement = false;
@@ -98,10 +101,7 @@ public class DuckDBPreparedStatement implements PreparedStatement {
         }
 
         // In case the statement is reused, release old one first
-        if (stmt_ref != null) {
-            DuckDBNative.duckdb_jdbc_release(stmt_ref);
-            stmt_ref = null;
-        }
+        releaseStatement();
 
         meta = null;
         params = null;
@@ -113,9 +113,24 @@ public class DuckDBPreparedStatement implements PreparedStatement {
         update_result = 0;
 
         try {
-            stmt_ref = DuckDBNative.duckdb_jdbc_prepare(conn.conn_ref, sql.getBytes(StandardCharsets.UTF_8));
-            meta = DuckDBNative.duckdb_jdbc_prepared_statement_meta(stmt_ref);
-            params = new Object[0];
+            ByteBuffer cached = conn.statementCache == null ? null : conn.statementCache.take(sql);
+            if (cached != null && DuckDBNative.duckdb_jdbc_prepared_statement_outdated(cached)) {
+                // the statement would be bound again on execution, possibly with different result columns
+                DuckDBNative.duckdb_jdbc_release(cached);
+                cached = null;
+            }
+            if (cached != null) {
+                stmt_ref = cached;
+                meta = DuckDBNative.duckdb_jdbc_prepared_statement_meta(stmt_ref);
+                cacheKey = sql;
+            } else {
+                stmt_ref = DuckDBNative.duckdb_jdbc_prepare(conn.conn_ref, sql.getBytes(StandardCharsets.UTF_8));
+                meta = DuckDBNative.duckdb_jdbc_prepared_statement_meta(stmt_ref);
+                if (conn.statementCache != null && DuckDBNative.duckdb_jdbc_prepared_statement_cacheable(stmt_ref)) {
+                    cacheKey = sql;
+                }
+            }
+            params = null;
         } catch (SQLException e) {
             // Delete stmt_ref as it might already be allocated
             close();
@@ -140,9 +155,10 @@ public class DuckDBPreparedStatement implements PreparedStatement {
 
         try {
             startTransaction();
-            result_ref = DuckDBNative.duckdb_jdbc_execute(stmt_ref, params);
+            DuckDBParameters bound = params != null ? params : DuckDBParameters.NONE;
+            result_ref = DuckDBNative.duckdb_jdbc_execute(stmt_ref, bound.types, bound.values, bound.objects);
             DuckDBResultSetMetaData result_meta = DuckDBNative.duckdb_jdbc_query_result_meta(result_ref);
-            select_result = new DuckDBResultSet(this, result_meta, result_ref, conn.conn_ref);
+            select_result = new DuckDBResultSet(this, result_meta, result_ref, conn.conn_ref, conn.prefetchChunks);
             returnsResultSet = result_meta.return_type.equals(StatementReturnType.QUERY_RESULT);
             returnsChangedRows = result_meta.return_type.equals(StatementReturnType.CHANGED_ROWS);
             returnsNothing = result_meta.return_type.equals(StatementReturnType.NOTHING);
@@ -155,6 +171,7 @@ public class DuckDBPreparedStatement implements PreparedStatement {
                 DuckDBNative.duckdb_jdbc_free_result(result_ref);
                 result_ref = null;
             }
+            cacheKey = null;
             close();
             throw e;
         }
@@ -231,77 +248,76 @@ public class DuckDBPreparedStatement implements PreparedStatement {
         return new DuckDBParameterMetaData(meta);
     }
 
-    @Override
-    public void setObject(int parameterIndex, Object x) throws SQLException {
-        if (parameterIndex < 1 || parameterIndex > getParameterMetaData().getParameterCount()) {
-            throw new SQLException("Parameter index out of bounds");
+    // checks the parameter index and returns the parameters to bind it in
+    private DuckDBParameters parameters(int parameterIndex) throws SQLException {
+        if (isClosed()) {
+            throw new SQLException("Statement was closed");
         }
-        if (params.length == 0) {
-            params = new Object[getParameterMetaData().getParameterCount()];
+        if (stmt_ref == null) {
+            throw new SQLException("Prepare something first");
+        }
+        if (parameterIndex < 1 || parameterIndex > meta.param_count) {
+            throw new SQLException("Parameter index out of bounds");
         }
-        // Change sql.Timestamp to DuckDBTimestamp
-        if (x instanceof Timestamp) {
-            x = new DuckDBTimestamp((Timestamp) x);
-        } else if (x instanceof LocalDateTime) {
-            x = new DuckDBTimestamp((LocalDateTime) x);
-        } else if (x instanceof OffsetDateTime) {
-            x = new DuckDBTimestampTZ((OffsetDateTime) x);
-        } else if (x instanceof Date) {
-            x = new DuckDBDate((Date) x);
-        } else if (x instanceof Time) {
-            x = new DuckDBTime((Time) x);
+        if (params == null) {
+            params = new DuckDBParameters(meta.param_count);
         }
-        params[parameterIndex - 1] = x;
+        return params;
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x) throws SQLException {
+        parameters(parameterIndex).setObject(parameterIndex - 1, x);
     }
 
     @Override
     public void setNull(int parameterIndex, int sqlType) throws SQLException {
-        setObject(parameterIndex, null);
+        parameters(parameterIndex).setNull(parameterIndex - 1);
     }
 
     @Override
     public void setBoolean(int parameterIndex, boolean x) throws SQLException {
-        setObject(parameterIndex, x);
+        parameters(parameterIndex).setBoolean(parameterIndex - 1, x);
     }
 
     @Override
     public void setByte(int parameterIndex, byte x) throws SQLException {
-        setObject(parameterIndex, x);
+        parameters(parameterIndex).setByte(parameterIndex - 1, x);
     }
 
     @Override
     public void setShort(int parameterIndex, short x) throws SQLException {
-        setObject(parameterIndex, x);
+        parameters(parameterIndex).setShort(parameterIndex - 1, x);
     }
 
     @Override
     public void setInt(int parameterIndex, int x) throws SQLException {
-        setObject(parameterIndex, x);
+        parameters(parameterIndex).setInt(parameterIndex - 1, x);
     }
 
     @Override
     public void setLong(int parameterIndex, long x) throws SQLException {
-        setObject(parameterIndex, x);
+        parameters(parameterIndex).setLong(parameterIndex - 1, x);
     }
 
     @Override
     public void setFloat(int parameterIndex, float x) throws SQLException {
-        setObject(parameterIndex, x);
+        parameters(parameterIndex).setFloat(parameterIndex - 1, x);
     }
 
     @Override
     public void setDouble(int parameterIndex, double x) throws SQLException {
-        setObject(parameterIndex, x);
+        parameters(parameterIndex).setDouble(parameterIndex - 1, x);
     }
 
     @Override
     public void setString(int parameterIndex, String x) throws SQLException {
-        setObject(parameterIndex, x);
+        parameters(parameterIndex).setString(parameterIndex - 1, x);
     }
 
     @Override
     public void clearParameters() throws SQLException {
-        params = new Object[0];
+        params = null;
     }
 
     @Override
@@ -310,11 +326,22 @@ public class DuckDBPreparedStatement implements PreparedStatement {
             select_result.close();
             select_result = null;
         }
-        if (stmt_ref != null) {
+        releaseStatement();
+        conn = null; // we use this as a check for closed-ness
+    }
+
+    // hands the prepared statement back to the connection's cache if possible, releases it otherwise
+    private void releaseStatement() {
+        if (stmt_ref == null) {
+            return;
+        }
+        if (cacheKey != null) {
+            conn.statementCache.put(cacheKey, stmt_ref);
+        } else {
             DuckDBNative.duckdb_jdbc_release(stmt_ref);
-            stmt_ref = null;
         }
-        conn = null; // we use this as a check for closed-ness
+        stmt_ref = null;
+        cacheKey = null;
     }
 
     protected void finalize() throws Throwable {
@@ -443,11 +470,15 @@ public class DuckDBPreparedStatement implements PreparedStatement {
 
     @Override
     public void setFetchSize(int rows) throws SQLException {
+        if (rows < 0) {
+            throw new SQLException("Fetch size has to be >= 0");
+        }
+        fetchSize = rows;
     }
 
     @Override
     public int getFetchSize() throws SQLException {
-        return DuckDBNative.duckdb_jdbc_fetch_size();
+        return fetchSize == 0 ? DuckDBNative.duckdb_jdbc_fetch_size() : fetchSize;
     }
 
     @Override
@@ -488,13 +519,31 @@ public class DuckDBPreparedStatement implements PreparedStatement {
     }
 
     private int[] executeBatchedPreparedStatement() throws SQLException {
-        int[] updateCounts = new int[this.batchedParams.size()];
-        for (int i = 0; i < this.batchedParams.size(); i++) {
-            params = this.batchedParams.get(i);
-            execute();
-            updateCounts[i] = getUpdateCount();
+        if (isClosed()) {
+            throw new SQLException("Statement was closed");
+        }
+        if (stmt_ref == null) {
+            throw new SQLException("Prepare something first");
+        }
+        if (select_result != null) {
+            select_result.close();
+            select_result = null;
+        }
+        if (batchedParams.isEmpty()) {
+            return new int[0];
+        }
+
+        try {
+            startTransaction();
+            // all parameter sets go down in one call and, unless a transaction is already running, commit together
+            DuckDBParameters batch = DuckDBParameters.concat(batchedParams);
+            return DuckDBNative.duckdb_jdbc_execute_batch(stmt_ref, batchedParams.size(), batch.types, batch.values,
+                                                          batch.objects);
+        } catch (SQLException e) {
+            cacheKey = null;
+            close();
+            throw e;
         }
-        return updateCounts;
     }
 
     private int[] executeBatchedStatements() throws SQLException {
@@ -772,7 +821,7 @@ public class DuckDBPreparedStatement implements PreparedStatement {
 
     @Override
     public void addBatch() throws SQLException {
-        batchedParams.add(params);
+        batchedParams.add(params != null ? params : DuckDBParameters.NONE);
         clearParameters();
         this.isBatch = true;
     }
@@ -804,7 +853,7 @@ public class DuckDBPreparedStatement implements PreparedStatement {
 
     @Override
     public void setArray(int parameterIndex, Array x) throws SQLException {
-        throw new SQLFeatureNotSupportedException("setArray");
+        setObject(parameterIndex, x);
     }
 
     @Override
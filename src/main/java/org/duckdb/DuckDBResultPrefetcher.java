@@ -0,0 +1,113 @@
+package org.duckdb;
+
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Fetches the chunks of a result on a background thread, so that DuckDB produces and converts the next chunks while
+ * the consumer is still processing the current one. At most {@code chunk_count} chunks are queued ahead.
+ */
+final class DuckDBResultPrefetcher implements Runnable {
+    private final ByteBuffer result_ref;
+    private final ByteBuffer conn_ref;
+    // holds DuckDBVector[] chunks, an empty one marks the end, or the SQLException that ended the fetching
+    private final BlockingQueue<Object> queue;
+    private final Thread thread;
+    private volatile boolean stopped = false;
+    private volatile int fetch_size;
+    private boolean finished = false;
+
+    DuckDBResultPrefetcher(ByteBuffer result_ref, ByteBuffer conn_ref, int chunk_count, int fetch_size)
+        throws SQLException {
+        this.result_ref = result_ref;
+        this.conn_ref = conn_ref;
+        this.fetch_size = fetch_size;
+        this.queue = new ArrayBlockingQueue<>(chunk_count);
+        // the queued chunks, the one being consumed and the one waiting to be queued all point into native memory
+        DuckDBNative.duckdb_jdbc_retain_chunks(result_ref, chunk_count + 2);
+        thread = new Thread(this, "duckdb-result-prefetch");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!stopped) {
+                DuckDBVector[] chunk = DuckDBNative.duckdb_jdbc_fetch(result_ref, conn_ref, fetch_size);
+                queue.put(chunk);
+                if (chunk.length == 0) {
+                    return;
+                }
+            }
+        } catch (SQLException e) {
+            putError(e);
+        } catch (RuntimeException e) {
+            putError(new SQLException(e));
+        } catch (InterruptedException e) {
+            // stopped by close()
+        }
+    }
+
+    private void putError(SQLException e) {
+        try {
+            queue.put(e);
+        } catch (InterruptedException ignored) {
+            // stopped by close()
+        }
+    }
+
+    /**
+     * Changes the number of rows of the chunks fetched from now on, chunks that are already queued keep their size.
+     */
+    void setFetchSize(int fetch_size) {
+        this.fetch_size = fetch_size;
+    }
+
+    /**
+     * Returns the next chunk, waiting for the background thread if necessary. An empty chunk marks the end.
+     */
+    DuckDBVector[] next() throws SQLException {
+        if (finished) {
+            return new DuckDBVector[0];
+        }
+        Object item;
+        try {
+            item = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the next chunk", e);
+        }
+        if (item instanceof SQLException) {
+            finished = true;
+            SQLException e = (SQLException) item;
+            throw new SQLException(e.getMessage(), e.getSQLState(), e);
+        }
+        DuckDBVector[] chunk = (DuckDBVector[]) item;
+        if (chunk.length == 0) {
+            finished = true;
+        }
+        return chunk;
+    }
+
+    /**
+     * Stops the background thread and waits until it no longer touches the native result.
+     */
+    void close() {
+        stopped = true;
+        thread.interrupt();
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
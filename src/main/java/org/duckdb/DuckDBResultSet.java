@@ -4,12 +4,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
-import java.lang.reflect.InvocationTargetException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 import java.sql.Array;
 import java.sql.Blob;
 import java.sql.Clob;
@@ -49,13 +49,23 @@ public class DuckDBResultSet implements ResultSet {
     private boolean finished = false;
     private boolean was_null;
     private final ByteBuffer conn_ref;
+    private final int prefetch_chunks;
+    private int fetch_size;
+    private DuckDBResultPrefetcher prefetcher = null;
 
     public DuckDBResultSet(DuckDBPreparedStatement stmt, DuckDBResultSetMetaData meta, ByteBuffer result_ref,
                            ByteBuffer conn_ref) throws SQLException {
+        this(stmt, meta, result_ref, conn_ref, 0);
+    }
+
+    DuckDBResultSet(DuckDBPreparedStatement stmt, DuckDBResultSetMetaData meta, ByteBuffer result_ref,
+                    ByteBuffer conn_ref, int prefetch_chunks) throws SQLException {
         this.stmt = Objects.requireNonNull(stmt);
         this.result_ref = Objects.requireNonNull(result_ref);
         this.meta = Objects.requireNonNull(meta);
         this.conn_ref = Objects.requireNonNull(conn_ref);
+        this.prefetch_chunks = meta.return_type == StatementReturnType.QUERY_RESULT ? prefetch_chunks : 0;
+        this.fetch_size = stmt.fetchSize;
     }
 
     public Statement getStatement() throws SQLException {
@@ -81,7 +91,8 @@ public class DuckDBResultSet implements ResultSet {
         }
         chunk_idx++;
         if (current_chunk.length == 0 || chunk_idx > current_chunk[0].length) {
-            current_chunk = DuckDBNative.duckdb_jdbc_fetch(result_ref, conn_ref);
+            detachChunk();
+            current_chunk = fetchChunk();
             chunk_idx = 1;
         }
         if (current_chunk.length == 0) {
@@ -91,8 +102,116 @@ public class DuckDBResultSet implements ResultSet {
         return true;
     }
 
+    /**
+     * Moves the cursor to the next chunk of rows, skipping whatever is left of the current one. The bulk getters
+     * {@link #getInts}, {@link #getLongs}, {@link #getDoubles}, {@link #getFloatArrays} and {@link #getNullMask} read
+     * the whole chunk at once.
+     * The cursor is left on the last row of the chunk, so a following {@link #next()} continues with the next chunk.
+     *
+     * @return the number of rows in the chunk, or 0 if there are no more rows
+     */
+    public synchronized int nextChunk() throws SQLException {
+        if (isClosed()) {
+            throw new SQLException("ResultSet was closed");
+        }
+        if (finished) {
+            return 0;
+        }
+        detachChunk();
+        current_chunk = fetchChunk();
+        if (current_chunk.length == 0) {
+            finished = true;
+            chunk_idx = 0;
+            return 0;
+        }
+        chunk_idx = current_chunk[0].length;
+        return current_chunk[0].length;
+    }
+
+    /**
+     * Copies a column of the current chunk into {@code dst}. The values of NULL rows are undefined, use
+     * {@link #getNullMask} to tell them apart.
+     *
+     * @param columnIndex the first column is 1, the second is 2, ...
+     * @param dst array with room for at least the rows of the chunk
+     * @return the number of values copied
+     */
+    public int getInts(int columnIndex, int[] dst) throws SQLException {
+        return getChunkVector(columnIndex).getInts(dst);
+    }
+
+    /**
+     * Copies a column of the current chunk into {@code dst}, see {@link #getInts}.
+     */
+    public int getLongs(int columnIndex, long[] dst) throws SQLException {
+        return getChunkVector(columnIndex).getLongs(dst);
+    }
+
+    /**
+     * Copies a column of the current chunk into {@code dst}, see {@link #getInts}.
+     */
+    public int getDoubles(int columnIndex, double[] dst) throws SQLException {
+        return getChunkVector(columnIndex).getDoubles(dst);
+    }
+
+    /**
+     * Returns a read-only view of the elements of a {@code FLOAT[N]} ARRAY column of the current chunk, without copying
+     * them out of DuckDB's memory. The array of row {@code i} of the chunk starts at position {@code i * N}. The
+     * elements of NULL arrays are undefined, as are NULL elements. The view must not be used after the cursor moved
+     * to another chunk.
+     *
+     * @param columnIndex the first column is 1, the second is 2, ...
+     */
+    public FloatBuffer getFloatArrays(int columnIndex) throws SQLException {
+        return getChunkVector(columnIndex).getFloatArrays();
+    }
+
+    /**
+     * Copies the NULL flags of a column of the current chunk into {@code dst}.
+     *
+     * @param columnIndex the first column is 1, the second is 2, ...
+     * @param dst array with room for at least the rows of the chunk
+     * @return the number of flags copied
+     */
+    public int getNullMask(int columnIndex, boolean[] dst) throws SQLException {
+        return getChunkVector(columnIndex).getNullMask(dst);
+    }
+
+    /**
+     * Lets the vectors of the current chunk keep the values that escaped as STRUCT or LIST views before the native
+     * chunk is freed.
+     */
+    private void detachChunk() {
+        for (DuckDBVector vector : current_chunk) {
+            vector.detach();
+        }
+    }
+
+    private DuckDBVector[] fetchChunk() throws SQLException {
+        if (prefetch_chunks == 0) {
+            return DuckDBNative.duckdb_jdbc_fetch(result_ref, conn_ref, fetch_size);
+        }
+        if (prefetcher == null) {
+            prefetcher = new DuckDBResultPrefetcher(result_ref, conn_ref, prefetch_chunks, fetch_size);
+        }
+        return prefetcher.next();
+    }
+
+    private DuckDBVector getChunkVector(int columnIndex) throws SQLException {
+        check(columnIndex);
+        if (current_chunk.length == 0) {
+            throw new SQLException("No chunk in context");
+        }
+        return current_chunk[columnIndex - 1];
+    }
+
     public synchronized void close() throws SQLException {
         if (result_ref != null) {
+            if (prefetcher != null) {
+                prefetcher.close();
+                prefetcher = null;
+            }
+            detachChunk();
             DuckDBNative.duckdb_jdbc_free_result(result_ref);
             // Nullness is used to determine whether we're closed
             result_ref = null;
@@ -123,7 +242,8 @@ public class DuckDBResultSet implements ResultSet {
     }
 
     /**
-     * Export the result set as an ArrowReader
+     * Export the result set as an ArrowReader. The reader loads each batch into the same VectorSchemaRoot, so
+     * consuming it with {@code loadNextBatch()} and {@code getVectorSchemaRoot()} does not allocate a root per batch.
      *
      * @param arrow_buffer_allocator an instance of {@link org.apache.arrow.memory.BufferAllocator}
      * @param arrow_batch_size batch size of arrow vectors to return
@@ -134,25 +254,62 @@ public class DuckDBResultSet implements ResultSet {
         if (isClosed()) {
             throw new SQLException("Result set is closed");
         }
+        if (prefetcher != null) {
+            throw new SQLException("Cannot export a result set to Arrow after chunks have been prefetched");
+        }
+
+        DuckDBArrow.checkAllocator(arrow_buffer_allocator);
+        long stream_pointer = DuckDBNative.duckdb_jdbc_arrow_stream(result_ref, arrow_batch_size);
+        return DuckDBArrow.importArrayStream(arrow_buffer_allocator, stream_pointer);
+    }
 
+    /**
+     * Export the result set as several ArrowReaders that can be consumed concurrently, one thread per reader. Each
+     * batch of the result goes to exactly one of the readers, whichever asks for the next batch first, so the order of
+     * the rows across readers is undefined. Batches are fetched one at a time but converted to Arrow by the consuming
+     * threads in parallel. If fetching the result fails, every reader that asks for another batch gets the error.
+     *
+     * @param arrow_buffer_allocator an instance of {@link org.apache.arrow.memory.BufferAllocator}
+     * @param arrow_batch_size approximate number of rows per batch, whole chunks are added until it is reached
+     * @param stream_count the number of readers
+     * @return instances of {@link org.apache.arrow.vector.ipc.ArrowReader}, each of which has to be closed
+     */
+    public synchronized Object[] arrowExportStreams(Object arrow_buffer_allocator, long arrow_batch_size,
+                                                    int stream_count) throws SQLException {
+        DuckDBArrow.checkAllocator(arrow_buffer_allocator);
+        long[] stream_pointers = arrowStreamPointers(arrow_batch_size, stream_count);
+        Object[] readers = new Object[stream_pointers.length];
+        int imported = 0;
         try {
-            Class<?> buffer_allocator_class = Class.forName("org.apache.arrow.memory.BufferAllocator");
-            if (!buffer_allocator_class.isInstance(arrow_buffer_allocator)) {
-                throw new RuntimeException("Need to pass an Arrow BufferAllocator");
+            for (; imported < stream_pointers.length; imported++) {
+                readers[imported] = DuckDBArrow.importArrayStream(arrow_buffer_allocator, stream_pointers[imported]);
             }
-            Long stream_pointer = DuckDBNative.duckdb_jdbc_arrow_stream(result_ref, arrow_batch_size);
-            Class<?> arrow_array_stream_class = Class.forName("org.apache.arrow.c.ArrowArrayStream");
-            Object arrow_array_stream =
-                arrow_array_stream_class.getMethod("wrap", long.class).invoke(null, stream_pointer);
-
-            Class<?> c_data_class = Class.forName("org.apache.arrow.c.Data");
+        } catch (RuntimeException | Error e) {
+            for (int i = 0; i < imported; i++) {
+                try {
+                    ((AutoCloseable) readers[i]).close();
+                } catch (Exception close_error) {
+                    e.addSuppressed(close_error);
+                }
+            }
+            // the stream whose import failed may already be owned by Arrow, the ones after it are not
+            for (int i = imported + 1; i < stream_pointers.length; i++) {
+                DuckDBNative.duckdb_jdbc_arrow_stream_release(stream_pointers[i]);
+            }
+            throw e;
+        }
+        return readers;
+    }
 
-            return c_data_class.getMethod("importArrayStream", buffer_allocator_class, arrow_array_stream_class)
-                .invoke(null, arrow_buffer_allocator, arrow_array_stream);
-        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException | SecurityException |
-                 ClassNotFoundException e) {
-            throw new RuntimeException(e);
+    // the native ArrowArrayStreams behind arrowExportStreams, each of which has to be released
+    synchronized long[] arrowStreamPointers(long arrow_batch_size, int stream_count) throws SQLException {
+        if (isClosed()) {
+            throw new SQLException("Result set is closed");
+        }
+        if (prefetcher != null) {
+            throw new SQLException("Cannot export a result set to Arrow after chunks have been prefetched");
         }
+        return DuckDBNative.duckdb_jdbc_arrow_streams(result_ref, arrow_batch_size, stream_count);
     }
 
     public Object getObject(int columnIndex) throws SQLException {
@@ -166,6 +323,20 @@ public class DuckDBResultSet implements ResultSet {
         return check_and_null(columnIndex) ? null : current_chunk[columnIndex - 1].getStruct(chunk_idx - 1);
     }
 
+    /**
+     * Returns a single field of a STRUCT column without creating a {@link Struct} for the row, so that reading a few
+     * fields of a wide struct does not materialize all of them.
+     *
+     * @param columnIndex the first column is 1, the second is 2, ...
+     * @param fieldIndex the first field of the struct is 1, the second is 2, ...
+     */
+    public Object getStructField(int columnIndex, int fieldIndex) throws SQLException {
+        if (check_and_null(columnIndex)) {
+            return null;
+        }
+        return current_chunk[columnIndex - 1].getStructField(chunk_idx - 1, fieldIndex - 1);
+    }
+
     public OffsetTime getOffsetTime(int columnIndex) throws SQLException {
         if (check_and_null(columnIndex)) {
             return null;
@@ -202,6 +373,33 @@ public class DuckDBResultSet implements ResultSet {
         return current_chunk[columnIndex - 1].getLazyString(chunk_idx - 1);
     }
 
+    /**
+     * Returns the UTF-8 bytes of a string value without decoding them into a {@link String}.
+     *
+     * @param columnIndex the first column is 1, the second is 2, ...
+     * @return a copy of the bytes, or {@code null} if the value is SQL {@code NULL}
+     */
+    public byte[] getStringBytes(int columnIndex) throws SQLException {
+        if (check_and_null(columnIndex)) {
+            return null;
+        }
+        return current_chunk[columnIndex - 1].getStringBytes(chunk_idx - 1);
+    }
+
+    /**
+     * Returns a read-only view of the UTF-8 bytes of a string value without copying or decoding them. The view shares
+     * its memory with the other strings of the current chunk.
+     *
+     * @param columnIndex the first column is 1, the second is 2, ...
+     * @return a buffer positioned at the first byte of the value, or {@code null} if the value is SQL {@code NULL}
+     */
+    public ByteBuffer getUtf8Slice(int columnIndex) throws SQLException {
+        if (check_and_null(columnIndex)) {
+            return null;
+        }
+        return current_chunk[columnIndex - 1].getUtf8Slice(chunk_idx - 1);
+    }
+
     public String getString(int columnIndex) throws SQLException {
         if (check_and_null(columnIndex)) {
             return null;
@@ -310,8 +508,9 @@ public class DuckDBResultSet implements ResultSet {
         if (isClosed()) {
             throw new SQLException("ResultSet was closed");
         }
+        String[] column_names = meta.columnNames();
         for (int col_idx = 0; col_idx < meta.column_count; col_idx++) {
-            if (meta.column_names[col_idx].contentEquals(columnLabel)) {
+            if (column_names[col_idx].contentEquals(columnLabel)) {
                 return col_idx + 1;
             }
         }
@@ -651,15 +850,18 @@ public class DuckDBResultSet implements ResultSet {
         return ResultSet.FETCH_FORWARD;
     }
 
-    public void setFetchSize(int rows) throws SQLException {
+    public synchronized void setFetchSize(int rows) throws SQLException {
         if (rows < 0) {
             throw new SQLException("Fetch size has to be >= 0");
         }
-        // whatevs
+        fetch_size = rows;
+        if (prefetcher != null) {
+            prefetcher.setFetchSize(rows);
+        }
     }
 
-    public int getFetchSize() throws SQLException {
-        return DuckDBNative.duckdb_jdbc_fetch_size();
+    public synchronized int getFetchSize() throws SQLException {
+        return fetch_size == 0 ? DuckDBNative.duckdb_jdbc_fetch_size() : fetch_size;
     }
 
     public int getType() throws SQLException {
@@ -2,6 +2,7 @@ package org.duckdb;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Timestamp;
@@ -43,6 +44,27 @@ public class DuckDBResultSetMetaData implements ResultSetMetaData {
         this.column_types_meta = column_types_meta.toArray(new DuckDBColumnTypeMetaData[column_count]);
     }
 
+    private static final DuckDBColumnType[] COLUMN_TYPES = DuckDBColumnType.values();
+
+    /**
+     * Metadata as built by the native side: the {@link DuckDBColumnType} ordinal of every column, the type size, width
+     * and scale of every DECIMAL column and one UTF-8 buffer with the names and type names of all columns. The strings
+     * are only decoded when they are asked for.
+     */
+    DuckDBResultSetMetaData(int param_count, int column_count, int[] column_type_ids, int[] column_decimal_properties,
+                            byte[] column_strings, int[] column_string_offsets, String return_type) {
+        this.param_count = param_count;
+        this.column_count = column_count;
+        this.return_type = StatementReturnType.valueOf(return_type);
+        this.column_types = new DuckDBColumnType[column_count];
+        for (int i = 0; i < column_count; i++) {
+            column_types[i] = COLUMN_TYPES[column_type_ids[i]];
+        }
+        this.column_decimal_properties = column_decimal_properties;
+        this.column_strings = column_strings;
+        this.column_string_offsets = column_string_offsets;
+    }
+
     public static DuckDBColumnType TypeNameToType(String type_name) {
         if (type_name.endsWith("]")) {
             // VARCHAR[] or VARCHAR[2]
@@ -69,12 +91,55 @@ public class DuckDBResultSetMetaData implements ResultSetMetaData {
 
     protected int param_count;
     protected int column_count;
+    // column_names, column_types_string and column_types_meta are filled on first use when the metadata comes from the
+    // native side, column_types_details is only set by the public constructor
     protected String[] column_names;
     protected String[] column_types_string;
     protected String[] column_types_details;
     protected DuckDBColumnType[] column_types;
     protected DuckDBColumnTypeMetaData[] column_types_meta;
     protected final StatementReturnType return_type;
+    private int[] column_decimal_properties;
+    private byte[] column_strings;
+    private int[] column_string_offsets;
+
+    synchronized String[] columnNames() {
+        if (column_names == null) {
+            column_names = decodeColumnStrings(0);
+        }
+        return column_names;
+    }
+
+    private synchronized String[] columnTypeNames() {
+        if (column_types_string == null) {
+            column_types_string = decodeColumnStrings(1);
+        }
+        return column_types_string;
+    }
+
+    private String[] decodeColumnStrings(int part) {
+        String[] strings = new String[column_count];
+        for (int i = 0; i < column_count; i++) {
+            int start = column_string_offsets[part * column_count + i];
+            int end = column_string_offsets[part * column_count + i + 1];
+            strings[i] = new String(column_strings, start, end - start, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    private synchronized DuckDBColumnTypeMetaData[] columnTypesMeta() {
+        if (column_types_meta == null) {
+            column_types_meta = new DuckDBColumnTypeMetaData[column_count];
+            for (int i = 0; i < column_count; i++) {
+                if (column_types[i] == DuckDBColumnType.DECIMAL) {
+                    column_types_meta[i] = new DuckDBColumnTypeMetaData((short) column_decimal_properties[i * 3],
+                                                                        (short) column_decimal_properties[i * 3 + 1],
+                                                                        (short) column_decimal_properties[i * 3 + 2]);
+                }
+            }
+        }
+        return column_types_meta;
+    }
 
     public StatementReturnType getReturnType() {
         return return_type;
@@ -92,7 +157,7 @@ public class DuckDBResultSetMetaData implements ResultSetMetaData {
         if (column > column_count) {
             throw new SQLException("Column index out of bounds");
         }
-        return column_names[column - 1];
+        return columnNames()[column - 1];
     }
 
     public static int type_to_int(DuckDBColumnType type) {
@@ -209,7 +274,7 @@ public class DuckDBResultSetMetaData implements ResultSetMetaData {
         if (column > column_count) {
             throw new SQLException("Column index out of bounds");
         }
-        return column_types_string[column - 1];
+        return columnTypeNames()[column - 1];
     }
 
     public boolean isReadOnly(int column) throws SQLException {
@@ -298,6 +363,6 @@ public class DuckDBResultSetMetaData implements ResultSetMetaData {
         if (columnIndex > column_count) {
             throw new SQLException("Column index out of bounds");
         }
-        return column_types_meta[columnIndex - 1];
+        return columnTypesMeta()[columnIndex - 1];
     }
 }
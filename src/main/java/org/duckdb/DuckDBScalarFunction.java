@@ -0,0 +1,18 @@
+package org.duckdb;
+
+/**
+ * A scalar function implemented in Java, see {@link DuckDBConnection#registerScalarFunction}. It is called once per
+ * chunk of up to 2048 rows rather than once per row, possibly from several of DuckDB's worker threads at the same
+ * time, so implementations have to be thread-safe.
+ */
+@FunctionalInterface
+public interface DuckDBScalarFunction {
+    /**
+     * Computes the result for every row of {@code input} and writes it to {@code output}. Neither may be used after
+     * this method returned, they point into DuckDB's memory.
+     *
+     * @param input the arguments, one column per argument
+     * @param output the result column, with one row per input row
+     */
+    void apply(DuckDBDataChunk input, DuckDBOutputVector output) throws Exception;
+}
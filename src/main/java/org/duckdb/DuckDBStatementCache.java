@@ -0,0 +1,82 @@
+package org.duckdb;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of prepared native statements of a connection, keyed by their SQL text. A statement is
+ * taken out of the cache while a {@link DuckDBPreparedStatement} uses it and put back when that one is closed or
+ * prepares something else, so a native statement is never shared.
+ */
+final class DuckDBStatementCache {
+    final int capacity;
+    private final LinkedHashMap<String, ByteBuffer> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean closed = false;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    DuckDBStatementCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Removes the statement prepared for {@code sql} from the cache, or returns null if there is none.
+     */
+    synchronized ByteBuffer take(String sql) {
+        ByteBuffer stmt_ref = entries.remove(sql);
+        if (stmt_ref != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return stmt_ref;
+    }
+
+    /**
+     * Hands a statement back, releasing it instead if the same SQL is already cached or the cache is closed. Evicts
+     * the least recently used statements beyond the capacity.
+     */
+    synchronized void put(String sql, ByteBuffer stmt_ref) {
+        if (closed || entries.containsKey(sql)) {
+            DuckDBNative.duckdb_jdbc_release(stmt_ref);
+            return;
+        }
+        entries.put(sql, stmt_ref);
+        Iterator<Map.Entry<String, ByteBuffer>> it = entries.entrySet().iterator();
+        while (entries.size() > capacity) {
+            DuckDBNative.duckdb_jdbc_release(it.next().getValue());
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Releases all cached statements, statements handed back afterwards are released right away.
+     */
+    synchronized void close() {
+        closed = true;
+        for (ByteBuffer stmt_ref : entries.values()) {
+            DuckDBNative.duckdb_jdbc_release(stmt_ref);
+        }
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    synchronized long getEvictions() {
+        return evictions;
+    }
+}
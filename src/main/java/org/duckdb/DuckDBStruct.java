@@ -6,22 +6,20 @@ import java.util.Map;
 import java.util.HashMap;
 
 public class DuckDBStruct implements Struct {
-    private final Object[] attributes;
+    private Object[] attributes;
     private final String[] keys;
     private final DuckDBVector[] values;
     private final int offset;
     private final String typeName;
 
-    DuckDBStruct(String[] keys, DuckDBVector[] values, int offset, String typeName) throws SQLException {
+    /**
+     * A view of row {@code offset} of the field vectors, the attributes are only read on the first access.
+     */
+    DuckDBStruct(String[] keys, DuckDBVector[] values, int offset, String typeName) {
         this.keys = keys;
         this.values = values;
         this.offset = offset;
         this.typeName = typeName;
-
-        attributes = new Object[this.keys.length];
-        for (int i = 0; i < this.keys.length; i++) {
-            attributes[i] = this.values[i].getObject(this.offset);
-        }
     }
 
     @Override
@@ -31,9 +29,28 @@ public class DuckDBStruct implements Struct {
 
     @Override
     public Object[] getAttributes() throws SQLException {
+        if (attributes == null) {
+            Object[] result = new Object[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                result[i] = values[i].getObject(offset);
+            }
+            attributes = result;
+        }
         return attributes;
     }
 
+    /**
+     * Returns the value of a single attribute, without reading the others.
+     *
+     * @param index the index of the attribute, starting at 0
+     */
+    public Object getAttribute(int index) throws SQLException {
+        if (attributes != null) {
+            return attributes[index];
+        }
+        return values[index].getObject(offset);
+    }
+
     @Override
     public Object[] getAttributes(Map<String, Class<?>> map) throws SQLException {
         return getAttributes();
@@ -0,0 +1,17 @@
+package org.duckdb;
+
+/**
+ * Produces the rows of a table function implemented in Java, see {@link DuckDBConnection#registerTableFunction}.
+ * DuckDB pulls rows a chunk at a time while it scans the table, so only one chunk per scanning thread is held in
+ * memory. A producer is only called by the thread it was created for.
+ */
+@FunctionalInterface
+public interface DuckDBTableProducer {
+    /**
+     * Writes the next rows to {@code columns}, starting at row 0. Columns that are not set for a row are NULL.
+     *
+     * @param columns one vector per column of the table, with room for {@link DuckDBOutputVector#getRowCount()} rows
+     * @return the number of rows written, 0 if there are no more
+     */
+    int produce(DuckDBOutputVector[] columns) throws Exception;
+}
@@ -4,6 +4,11 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
 import java.sql.Array;
 import java.sql.Blob;
 import java.sql.Date;
@@ -21,6 +26,7 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.TextStyle;
 import java.time.temporal.ChronoField;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Calendar;
@@ -44,21 +50,46 @@ class DuckDBVector {
                                 .toFormatter())
             .toFormatter();
 
-    DuckDBVector(String duckdb_type, int length, boolean[] nullmask) {
+    private static final DuckDBColumnType[] COLUMN_TYPES = DuckDBColumnType.values();
+
+    /**
+     * @param column_type the ordinal of the {@link DuckDBColumnType}
+     * @param decimal_width width of a DECIMAL vector, ignored for other types
+     * @param decimal_scale scale of a DECIMAL vector, ignored for other types
+     */
+    DuckDBVector(int column_type, int decimal_width, int decimal_scale, int length, ByteBuffer validity) {
         super();
-        this.duckdb_type = DuckDBResultSetMetaData.TypeNameToType(duckdb_type);
+        this.duckdb_type = COLUMN_TYPES[column_type];
         this.meta = this.duckdb_type == DuckDBColumnType.DECIMAL
-                        ? DuckDBColumnTypeMetaData.parseColumnTypeMetadata(duckdb_type)
+                        ? DuckDBColumnTypeMetaData.decimal(decimal_width, decimal_scale)
                         : null;
         this.length = length;
-        this.nullmask = nullmask;
+        this.validity = validity == null ? null : validity.order(ByteOrder.nativeOrder());
     }
     private final DuckDBColumnTypeMetaData meta;
     protected final DuckDBColumnType duckdb_type;
     final int length;
-    private final boolean[] nullmask;
+    // DuckDB's validity bitmap, one 64-bit word per 64 rows with a cleared bit for NULL, or null if no row is NULL
+    private ByteBuffer validity;
     private ByteBuffer constlen_data = null;
     private Object[] varlen_data = null;
+    // VARCHAR data: all strings of the vector back-to-back, delimited by string_offsets
+    private byte[] string_data = null;
+    private int[] string_offsets = null;
+    private String[] decoded_strings = null;
+    // ENUM and dictionary-encoded VARCHAR data: one code per row into a dictionary of already decoded strings
+    private String[] dictionary = null;
+    private int[] dictionary_codes = null;
+    // STRUCT and UNION data: one vector per field, the DuckDBStruct of a row is only created when it is requested
+    private DuckDBVector[] struct_children = null;
+    private String[] struct_keys = null;
+    private String struct_type_name = null;
+    // LIST, MAP and ARRAY data: the elements of all rows, a LIST or MAP row is located by the offset and length in
+    // constlen_data, an ARRAY row by array_size
+    private DuckDBVector list_child = null;
+    private int array_size = 0;
+    // whether a DuckDBStruct or DuckDBArray reading from this vector was handed out, which may outlive the chunk
+    private boolean has_views = false;
 
     Object getObject(int idx) throws SQLException {
         if (check_and_null(idx)) {
@@ -132,7 +163,7 @@ class DuckDBVector {
         }
 
         if (isType(DuckDBColumnType.TIME)) {
-            long microseconds = getbuf(idx, 8).getLong();
+            long microseconds = data().getLong(idx * 8);
             long nanoseconds = TimeUnit.MICROSECONDS.toNanos(microseconds);
             return LocalTime.ofNanoOfDay(nanoseconds);
         }
@@ -148,7 +179,7 @@ class DuckDBVector {
         }
 
         if (isType(DuckDBColumnType.DATE)) {
-            return LocalDate.ofEpochDay(getbuf(idx, 4).getInt());
+            return LocalDate.ofEpochDay(data().getInt(idx * 4));
         }
 
         String lazyString = getLazyString(idx);
@@ -168,15 +199,14 @@ class DuckDBVector {
         if (isType(DuckDBColumnType.DECIMAL)) {
             switch (meta.type_size) {
             case 16:
-                return new BigDecimal((int) getbuf(idx, 2).getShort()).scaleByPowerOfTen(meta.scale * -1);
+                return new BigDecimal((int) data().getShort(idx * 2)).scaleByPowerOfTen(meta.scale * -1);
             case 32:
-                return new BigDecimal(getbuf(idx, 4).getInt()).scaleByPowerOfTen(meta.scale * -1);
+                return new BigDecimal(data().getInt(idx * 4)).scaleByPowerOfTen(meta.scale * -1);
             case 64:
-                return new BigDecimal(getbuf(idx, 8).getLong()).scaleByPowerOfTen(meta.scale * -1);
+                return new BigDecimal(data().getLong(idx * 8)).scaleByPowerOfTen(meta.scale * -1);
             case 128:
-                ByteBuffer buf = getbuf(idx, 16);
-                long lower = buf.getLong();
-                long upper = buf.getLong();
+                long lower = data().getLong(idx * 16);
+                long upper = data().getLong(idx * 16 + 8);
                 return new BigDecimal(upper)
                     .multiply(ULONG_MULTIPLIER)
                     .add(new BigDecimal(Long.toUnsignedString(lower)))
@@ -193,7 +223,7 @@ class DuckDBVector {
         }
 
         if (isType(DuckDBColumnType.TIMESTAMP_WITH_TIME_ZONE)) {
-            return DuckDBTimestamp.toOffsetDateTime(getbuf(idx, 8).getLong());
+            return DuckDBTimestamp.toOffsetDateTime(data().getLong(idx * 8));
         }
         Object o = getObject(idx);
         return OffsetDateTime.parse(o.toString());
@@ -205,16 +235,16 @@ class DuckDBVector {
         }
 
         if (isType(DuckDBColumnType.TIMESTAMP) || isType(DuckDBColumnType.TIMESTAMP_WITH_TIME_ZONE)) {
-            return DuckDBTimestamp.toSqlTimestamp(getbuf(idx, 8).getLong());
+            return DuckDBTimestamp.toSqlTimestamp(data().getLong(idx * 8));
         }
         if (isType(DuckDBColumnType.TIMESTAMP_MS)) {
-            return DuckDBTimestamp.toSqlTimestamp(getbuf(idx, 8).getLong() * 1000);
+            return DuckDBTimestamp.toSqlTimestamp(data().getLong(idx * 8) * 1000);
         }
         if (isType(DuckDBColumnType.TIMESTAMP_NS)) {
-            return DuckDBTimestamp.toSqlTimestampNanos(getbuf(idx, 8).getLong());
+            return DuckDBTimestamp.toSqlTimestampNanos(data().getLong(idx * 8));
         }
         if (isType(DuckDBColumnType.TIMESTAMP_S)) {
-            return DuckDBTimestamp.toSqlTimestamp(getbuf(idx, 8).getLong() * 1_000_000);
+            return DuckDBTimestamp.toSqlTimestamp(data().getLong(idx * 8) * 1_000_000);
         }
         Object o = getObject(idx);
         return Timestamp.valueOf(o.toString());
@@ -226,11 +256,10 @@ class DuckDBVector {
         }
 
         if (isType(DuckDBColumnType.UUID)) {
-            ByteBuffer buffer = getbuf(idx, 16);
-            long leastSignificantBits = buffer.getLong();
+            long leastSignificantBits = data().getLong(idx * 16);
 
             // Account for unsigned
-            long mostSignificantBits = buffer.getLong() - Long.MAX_VALUE - 1;
+            long mostSignificantBits = data().getLong(idx * 16 + 8) - Long.MAX_VALUE - 1;
             return new UUID(mostSignificantBits, leastSignificantBits);
         }
         Object o = getObject(idx);
@@ -241,7 +270,50 @@ class DuckDBVector {
         if (check_and_null(idx)) {
             return null;
         }
-        return varlen_data[idx].toString();
+        if (dictionary != null) {
+            return dictionary[dictionary_codes[idx]];
+        }
+        if (list_child != null) {
+            return createArray(idx).toString();
+        }
+        if (struct_children != null) {
+            return createStruct(idx).toString();
+        }
+        if (string_data == null) {
+            return varlen_data[idx].toString();
+        }
+        if (decoded_strings == null) {
+            decoded_strings = new String[length];
+        }
+        String result = decoded_strings[idx];
+        if (result == null) {
+            result = new String(string_data, string_offsets[idx], string_offsets[idx + 1] - string_offsets[idx],
+                                StandardCharsets.UTF_8);
+            decoded_strings[idx] = result;
+        }
+        return result;
+    }
+
+    byte[] getStringBytes(int idx) {
+        if (check_and_null(idx)) {
+            return null;
+        }
+        if (string_data == null) {
+            return getLazyString(idx).getBytes(StandardCharsets.UTF_8);
+        }
+        return Arrays.copyOfRange(string_data, string_offsets[idx], string_offsets[idx + 1]);
+    }
+
+    ByteBuffer getUtf8Slice(int idx) {
+        if (check_and_null(idx)) {
+            return null;
+        }
+        if (string_data == null) {
+            return ByteBuffer.wrap(getStringBytes(idx)).asReadOnlyBuffer();
+        }
+        return ByteBuffer.wrap(string_data, string_offsets[idx], string_offsets[idx + 1] - string_offsets[idx])
+            .slice()
+            .asReadOnlyBuffer();
     }
 
     Array getArray(int idx) throws SQLException {
@@ -249,11 +321,24 @@ class DuckDBVector {
             return null;
         }
         if (isType(DuckDBColumnType.LIST) || isType(DuckDBColumnType.ARRAY)) {
-            return (Array) varlen_data[idx];
+            return arrayAt(idx);
         }
         throw new SQLFeatureNotSupportedException("getArray");
     }
 
+    private DuckDBArray arrayAt(int idx) {
+        has_views = true;
+        return createArray(idx);
+    }
+
+    // a view that does not escape this vector, so the chunk memory does not have to outlive it
+    private DuckDBArray createArray(int idx) {
+        if (isType(DuckDBColumnType.ARRAY)) {
+            return new DuckDBArray(list_child, idx * array_size, array_size);
+        }
+        return new DuckDBArray(list_child, (int) data().getLong(idx * 16), (int) data().getLong(idx * 16 + 8));
+    }
+
     Map<Object, Object> getMap(int idx) throws SQLException {
         if (check_and_null(idx)) {
             return null;
@@ -262,7 +347,7 @@ class DuckDBVector {
             throw new SQLFeatureNotSupportedException("getMap");
         }
 
-        Object[] entries = (Object[]) (((Array) varlen_data[idx]).getArray());
+        Object[] entries = (Object[]) arrayAt(idx).getArray();
         Map<Object, Object> result = new HashMap<>();
 
         for (Object entry : entries) {
@@ -316,7 +401,7 @@ class DuckDBVector {
         if (check_and_null(idx)) {
             return null;
         }
-        return DuckDBTimestamp.toOffsetTime(getbuf(idx, 8).getLong());
+        return DuckDBTimestamp.toOffsetTime(data().getLong(idx * 8));
     }
 
     Time getTime(int idx) {
@@ -341,7 +426,7 @@ class DuckDBVector {
             return false;
         }
         if (isType(DuckDBColumnType.BOOLEAN)) {
-            return getbuf(idx, 1).get() == 1;
+            return data().get(idx) == 1;
         }
         Object o = getObject(idx);
         if (o instanceof Number) {
@@ -351,15 +436,74 @@ class DuckDBVector {
         return Boolean.parseBoolean(o.toString());
     }
 
-    protected ByteBuffer getbuf(int idx, int typeWidth) {
+    /**
+     * Called before DuckDB frees the chunk this vector points into. If STRUCT or LIST views were handed out, the
+     * native memory they read from is copied, so that they stay valid after the result set moved on or was closed.
+     * Views of a field or union member are handed out by the child vector, so children are detached as well.
+     */
+    void detach() {
+        if (has_views) {
+            copyNativeData();
+            return;
+        }
+        if (struct_children != null) {
+            for (DuckDBVector child : struct_children) {
+                child.detach();
+            }
+        }
+        if (list_child != null) {
+            list_child.detach();
+        }
+    }
+
+    private void copyNativeData() {
+        validity = copy(validity);
+        constlen_data = copy(constlen_data);
+        if (struct_children != null) {
+            for (DuckDBVector child : struct_children) {
+                child.copyNativeData();
+            }
+        }
+        if (list_child != null) {
+            list_child.copyNativeData();
+        }
+    }
+
+    private static ByteBuffer copy(ByteBuffer buf) {
+        if (buf == null) {
+            return null;
+        }
+        ByteBuffer src = buf.duplicate();
+        src.clear();
+        ByteBuffer result = ByteBuffer.allocate(src.capacity()).order(buf.order());
+        result.put(src);
+        result.clear();
+        return result;
+    }
+
+    /**
+     * The fixed-width data of this vector, read with absolute offsets so that no per-value view or position update is
+     * needed.
+     */
+    private ByteBuffer data() {
         ByteBuffer buf = constlen_data;
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-        buf.position(idx * typeWidth);
+        if (buf.order() != ByteOrder.LITTLE_ENDIAN) {
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+        }
         return buf;
     }
 
+    private byte[] readBigEndian(int idx, int typeWidth) {
+        ByteBuffer buf = data();
+        byte[] bytes = new byte[typeWidth];
+        for (int i = 0; i < typeWidth; i++) {
+            bytes[i] = buf.get(idx * typeWidth + typeWidth - 1 - i);
+        }
+        return bytes;
+    }
+
     protected boolean check_and_null(int idx) {
-        return nullmask[idx];
+        return validity != null && (validity.getLong((idx >>> 6) * 8) & (1L << idx)) == 0;
     }
 
     long getLong(int idx) throws SQLException {
@@ -368,7 +512,7 @@ class DuckDBVector {
         }
         if (isType(DuckDBColumnType.BIGINT) || isType(DuckDBColumnType.TIMESTAMP) ||
             isType(DuckDBColumnType.TIMESTAMP_WITH_TIME_ZONE)) {
-            return getbuf(idx, 8).getLong();
+            return data().getLong(idx * 8);
         }
         Object o = getObject(idx);
         if (o instanceof Number) {
@@ -382,7 +526,7 @@ class DuckDBVector {
             return 0;
         }
         if (isType(DuckDBColumnType.INTEGER)) {
-            return getbuf(idx, 4).getInt();
+            return data().getInt(idx * 4);
         }
         Object o = getObject(idx);
         if (o instanceof Number) {
@@ -396,9 +540,7 @@ class DuckDBVector {
             return 0;
         }
         if (isType(DuckDBColumnType.UTINYINT)) {
-            ByteBuffer buf = ByteBuffer.allocate(2);
-            getbuf(idx, 1).get(buf.array(), 1, 1);
-            return buf.getShort();
+            return (short) (data().get(idx) & 0xFF);
         }
         throw new SQLFeatureNotSupportedException("getUint8");
     }
@@ -408,10 +550,7 @@ class DuckDBVector {
             return 0;
         }
         if (isType(DuckDBColumnType.UINTEGER)) {
-            ByteBuffer buf = ByteBuffer.allocate(8);
-            buf.order(ByteOrder.LITTLE_ENDIAN);
-            getbuf(idx, 4).get(buf.array(), 0, 4);
-            return buf.getLong();
+            return data().getInt(idx * 4) & 0xFFFFFFFFL;
         }
         throw new SQLFeatureNotSupportedException("getUint32");
     }
@@ -421,10 +560,7 @@ class DuckDBVector {
             return 0;
         }
         if (isType(DuckDBColumnType.USMALLINT)) {
-            ByteBuffer buf = ByteBuffer.allocate(4);
-            buf.order(ByteOrder.LITTLE_ENDIAN);
-            getbuf(idx, 2).get(buf.array(), 0, 2);
-            return buf.getInt();
+            return data().getShort(idx * 2) & 0xFFFF;
         }
         throw new SQLFeatureNotSupportedException("getUint16");
     }
@@ -434,13 +570,7 @@ class DuckDBVector {
             return BigInteger.ZERO;
         }
         if (isType(DuckDBColumnType.UBIGINT)) {
-            byte[] buf_res = new byte[16];
-            byte[] buf = new byte[8];
-            getbuf(idx, 8).get(buf);
-            for (int i = 0; i < 8; i++) {
-                buf_res[i + 8] = buf[7 - i];
-            }
-            return new BigInteger(buf_res);
+            return new BigInteger(1, readBigEndian(idx, 8));
         }
         throw new SQLFeatureNotSupportedException("getUint64");
     }
@@ -450,7 +580,7 @@ class DuckDBVector {
             return Double.NaN;
         }
         if (isType(DuckDBColumnType.DOUBLE)) {
-            return getbuf(idx, 8).getDouble();
+            return data().getDouble(idx * 8);
         }
         Object o = getObject(idx);
         if (o instanceof Number) {
@@ -464,7 +594,7 @@ class DuckDBVector {
             return 0;
         }
         if (isType(DuckDBColumnType.TINYINT)) {
-            return getbuf(idx, 1).get();
+            return data().get(idx);
         }
         Object o = getObject(idx);
         if (o instanceof Number) {
@@ -478,7 +608,7 @@ class DuckDBVector {
             return 0;
         }
         if (isType(DuckDBColumnType.SMALLINT)) {
-            return getbuf(idx, 2).getShort();
+            return data().getShort(idx * 2);
         }
         Object o = getObject(idx);
         if (o instanceof Number) {
@@ -492,14 +622,7 @@ class DuckDBVector {
             return BigInteger.ZERO;
         }
         if (isType(DuckDBColumnType.HUGEINT)) {
-            byte[] buf = new byte[16];
-            getbuf(idx, 16).get(buf);
-            for (int i = 0; i < 8; i++) {
-                byte keep = buf[i];
-                buf[i] = buf[15 - i];
-                buf[15 - i] = keep;
-            }
-            return new BigInteger(buf);
+            return new BigInteger(readBigEndian(idx, 16));
         }
         Object o = getObject(idx);
         return new BigInteger(o.toString());
@@ -510,14 +633,7 @@ class DuckDBVector {
             return BigInteger.ZERO;
         }
         if (isType(DuckDBColumnType.UHUGEINT)) {
-            byte[] buf = new byte[16];
-            getbuf(idx, 16).get(buf);
-            for (int i = 0; i < 8; i++) {
-                byte keep = buf[i];
-                buf[i] = buf[15 - i];
-                buf[15 - i] = keep;
-            }
-            return new BigInteger(1, buf);
+            return new BigInteger(1, readBigEndian(idx, 16));
         }
         Object o = getObject(idx);
         return new BigInteger(o.toString());
@@ -528,7 +644,7 @@ class DuckDBVector {
             return Float.NaN;
         }
         if (isType(DuckDBColumnType.FLOAT)) {
-            return getbuf(idx, 4).getFloat();
+            return data().getFloat(idx * 4);
         }
         Object o = getObject(idx);
         if (o instanceof Number) {
@@ -537,6 +653,144 @@ class DuckDBVector {
         return Float.parseFloat(o.toString());
     }
 
+    int getInts(int[] dst) throws SQLException {
+        checkBulkDestination(dst.length);
+        if (isType(DuckDBColumnType.INTEGER)) {
+            data().asIntBuffer().get(dst, 0, length);
+            return length;
+        }
+        for (int i = 0; i < length; i++) {
+            dst[i] = getInt(i);
+        }
+        return length;
+    }
+
+    int getLongs(long[] dst) throws SQLException {
+        checkBulkDestination(dst.length);
+        if (isType(DuckDBColumnType.BIGINT) || isType(DuckDBColumnType.TIMESTAMP) ||
+            isType(DuckDBColumnType.TIMESTAMP_WITH_TIME_ZONE)) {
+            data().asLongBuffer().get(dst, 0, length);
+            return length;
+        }
+        for (int i = 0; i < length; i++) {
+            dst[i] = getLong(i);
+        }
+        return length;
+    }
+
+    int getDoubles(double[] dst) throws SQLException {
+        checkBulkDestination(dst.length);
+        if (isType(DuckDBColumnType.DOUBLE)) {
+            data().asDoubleBuffer().get(dst, 0, length);
+            return length;
+        }
+        for (int i = 0; i < length; i++) {
+            dst[i] = getDouble(i);
+        }
+        return length;
+    }
+
+    int[] getInts(int offset, int count) throws SQLException {
+        int[] dst = new int[count];
+        if (isType(DuckDBColumnType.INTEGER) && !hasNull(offset, count)) {
+            IntBuffer buf = data().asIntBuffer();
+            buf.position(offset);
+            buf.get(dst);
+            return dst;
+        }
+        for (int i = 0; i < count; i++) {
+            dst[i] = getInt(offset + i);
+        }
+        return dst;
+    }
+
+    long[] getLongs(int offset, int count) throws SQLException {
+        long[] dst = new long[count];
+        if (isType(DuckDBColumnType.BIGINT) && !hasNull(offset, count)) {
+            LongBuffer buf = data().asLongBuffer();
+            buf.position(offset);
+            buf.get(dst);
+            return dst;
+        }
+        for (int i = 0; i < count; i++) {
+            dst[i] = getLong(offset + i);
+        }
+        return dst;
+    }
+
+    float[] getFloats(int offset, int count) throws SQLException {
+        float[] dst = new float[count];
+        if (isType(DuckDBColumnType.FLOAT) && !hasNull(offset, count)) {
+            FloatBuffer buf = data().asFloatBuffer();
+            buf.position(offset);
+            buf.get(dst);
+            return dst;
+        }
+        for (int i = 0; i < count; i++) {
+            dst[i] = getFloat(offset + i);
+        }
+        return dst;
+    }
+
+    double[] getDoubles(int offset, int count) throws SQLException {
+        double[] dst = new double[count];
+        if (isType(DuckDBColumnType.DOUBLE) && !hasNull(offset, count)) {
+            DoubleBuffer buf = data().asDoubleBuffer();
+            buf.position(offset);
+            buf.get(dst);
+            return dst;
+        }
+        for (int i = 0; i < count; i++) {
+            dst[i] = getDouble(offset + i);
+        }
+        return dst;
+    }
+
+    FloatBuffer getFloatArrays() throws SQLException {
+        if (!isType(DuckDBColumnType.ARRAY) || !list_child.isType(DuckDBColumnType.FLOAT)) {
+            throw new SQLFeatureNotSupportedException("getFloatArrays");
+        }
+        return list_child.constlen_data.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+    }
+
+    /**
+     * Whether any of the rows {@code offset} to {@code offset + count - 1} is NULL.
+     */
+    boolean hasNull(int offset, int count) {
+        if (validity == null) {
+            return false;
+        }
+        for (int i = offset; i < offset + count; i++) {
+            if (check_and_null(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int getNullMask(boolean[] dst) throws SQLException {
+        checkBulkDestination(dst.length);
+        if (validity == null) {
+            Arrays.fill(dst, 0, length, false);
+            return length;
+        }
+        for (int word_idx = 0; word_idx * 64 < length; word_idx++) {
+            long word = validity.getLong(word_idx * 8);
+            int end = Math.min(length, word_idx * 64 + 64);
+            for (int i = word_idx * 64; i < end; i++) {
+                dst[i] = (word & (1L << i)) == 0;
+            }
+        }
+        return length;
+    }
+
+    private void checkBulkDestination(int dstLength) throws SQLException {
+        if (dstLength < length) {
+            throw new SQLException("Destination array holds " + dstLength + " values, but the chunk has " + length +
+                                   " rows");
+        }
+    }
+
     private boolean isType(DuckDBColumnType columnType) {
         return duckdb_type == columnType;
     }
@@ -548,16 +802,16 @@ class DuckDBVector {
         // Our raw data is already a proper count of units since the epoch
         // So just construct the SQL Timestamp.
         if (isType(DuckDBColumnType.TIMESTAMP) || isType(DuckDBColumnType.TIMESTAMP_WITH_TIME_ZONE)) {
-            return DuckDBTimestamp.fromMicroInstant(getbuf(idx, 8).getLong());
+            return DuckDBTimestamp.fromMicroInstant(data().getLong(idx * 8));
         }
         if (isType(DuckDBColumnType.TIMESTAMP_MS)) {
-            return DuckDBTimestamp.fromMilliInstant(getbuf(idx, 8).getLong());
+            return DuckDBTimestamp.fromMilliInstant(data().getLong(idx * 8));
         }
         if (isType(DuckDBColumnType.TIMESTAMP_NS)) {
-            return DuckDBTimestamp.fromNanoInstant(getbuf(idx, 8).getLong());
+            return DuckDBTimestamp.fromNanoInstant(data().getLong(idx * 8));
         }
         if (isType(DuckDBColumnType.TIMESTAMP_S)) {
-            return DuckDBTimestamp.fromSecondInstant(getbuf(idx, 8).getLong());
+            return DuckDBTimestamp.fromSecondInstant(data().getLong(idx * 8));
         }
         Object o = getObject(idx);
         return Timestamp.valueOf(o.toString());
@@ -568,26 +822,52 @@ class DuckDBVector {
             return null;
         }
         if (isType(DuckDBColumnType.TIMESTAMP) || isType(DuckDBColumnType.TIMESTAMP_WITH_TIME_ZONE)) {
-            return DuckDBTimestamp.toLocalDateTime(getbuf(idx, 8).getLong());
+            return DuckDBTimestamp.toLocalDateTime(data().getLong(idx * 8));
         }
         Object o = getObject(idx);
         return LocalDateTime.parse(o.toString());
     }
 
-    Struct getStruct(int idx) {
-        return check_and_null(idx) ? null : (Struct) varlen_data[idx];
+    Struct getStruct(int idx) throws SQLException {
+        if (check_and_null(idx)) {
+            return null;
+        }
+        if (struct_children == null) {
+            throw new SQLFeatureNotSupportedException("getStruct");
+        }
+        return structAt(idx);
+    }
+
+    private DuckDBStruct structAt(int idx) {
+        has_views = true;
+        return createStruct(idx);
+    }
+
+    // a view that does not escape this vector, so the chunk memory does not have to outlive it
+    private DuckDBStruct createStruct(int idx) {
+        return new DuckDBStruct(struct_keys, struct_children, idx, struct_type_name);
+    }
+
+    Object getStructField(int idx, int fieldIdx) throws SQLException {
+        if (check_and_null(idx)) {
+            return null;
+        }
+        if (struct_children == null) {
+            throw new SQLFeatureNotSupportedException("getStructField");
+        }
+        if (fieldIdx < 0 || fieldIdx >= struct_children.length) {
+            throw new SQLException("Field index out of bounds: " + (fieldIdx + 1));
+        }
+        return struct_children[fieldIdx].getObject(idx);
     }
 
     Object getUnion(int idx) throws SQLException {
         if (check_and_null(idx))
             return null;
 
-        Struct struct = getStruct(idx);
-
-        Object[] attributes = struct.getAttributes();
-
-        short tag = (short) attributes[0];
+        // the first child holds the tag, the value is in the child of the selected member
+        short tag = struct_children[0].getUint8(idx);
 
-        return attributes[1 + tag];
+        return struct_children[1 + tag].getObject(idx);
     }
 }
@@ -5,6 +5,9 @@ import javax.sql.rowset.RowSetProvider;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -22,23 +25,28 @@ import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.ResolverStyle;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 import static java.time.format.DateTimeFormatter.ISO_LOCAL_TIME;
@@ -50,6 +58,8 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.duckdb.DuckDBDriver.DUCKDB_USER_AGENT_PROPERTY;
+import static org.duckdb.DuckDBDriver.JDBC_PREFETCH_CHUNKS;
+import static org.duckdb.DuckDBDriver.JDBC_PREPARED_STATEMENT_CACHE_SIZE;
 import static org.duckdb.DuckDBDriver.JDBC_STREAM_RESULTS;
 import static org.duckdb.test.Assertions.assertEquals;
 import static org.duckdb.test.Assertions.assertFalse;
@@ -338,6 +348,35 @@ public class TestDuckDBJDBC {
         conn.close();
     }
 
+    public static void test_enum_dictionary() throws Exception {
+        try (Connection conn = DriverManager.getConnection(JDBC_URL); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TYPE mood AS ENUM ('sad', 'ok', 'happy', '🦆')");
+
+            // the dictionary Strings are created once and shared by all rows and chunks of the result
+            Map<String, String> seen = new HashMap<>();
+            int rows = 0;
+            try (ResultSet rs = stmt.executeQuery("SELECT CASE WHEN i % 5 = 4 THEN NULL::mood ELSE "
+                                                  + "(['sad', 'ok', 'happy', '🦆'])[i % 5 + 1]::mood END, i % 5 "
+                                                  + "FROM range(10000) t(i)")) {
+                while (rs.next()) {
+                    String value = rs.getString(1);
+                    boolean wasNull = rs.wasNull();
+                    if (rs.getInt(2) == 4) {
+                        assertNull(value);
+                        assertTrue(wasNull);
+                    } else {
+                        String first = seen.computeIfAbsent(value, k -> value);
+                        assertTrue(first == value);
+                        assertEquals(rs.getObject(1), value);
+                    }
+                    rows++;
+                }
+            }
+            assertEquals(rows, 10000);
+            assertEquals(seen.keySet(), new HashSet<>(asList("sad", "ok", "happy", "🦆")));
+        }
+    }
+
     public static void test_timestamp_ms() throws Exception {
         String expectedString = "2022-08-17 12:11:10.999";
         String sql = "SELECT '2022-08-17T12:11:10.999'::TIMESTAMP_MS as ts_ms";
@@ -966,6 +1005,34 @@ public class TestDuckDBJDBC {
         conn.close();
     }
 
+    public static void test_fixed_width_extremes() throws Exception {
+        try (Connection conn = DriverManager.getConnection(JDBC_URL); Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT ut::UTINYINT, us::USMALLINT, ui::UINTEGER, ub::UBIGINT, hi::HUGEINT, uhi::UHUGEINT, "
+                 + "i::INTEGER FROM (VALUES ('255', '65535', '4294967295', '18446744073709551615', "
+                 + "'-170141183460469231731687303715884105727', '340282366920938463463374607431768211455', "
+                 + "'-2147483648'), ('1', '2', '3', '4', '-5', '6', '7')) t(ut, us, ui, ub, hi, uhi, i)")) {
+            assertTrue(rs.next());
+            assertEquals(rs.getObject(1), (short) 255);
+            assertEquals(rs.getObject(2), 65535);
+            assertEquals(rs.getObject(3), 4294967295L);
+            assertEquals(rs.getObject(4), new BigInteger("18446744073709551615"));
+            assertEquals(rs.getObject(5), new BigInteger("-170141183460469231731687303715884105727"));
+            assertEquals(rs.getObject(6), new BigInteger("340282366920938463463374607431768211455"));
+            assertEquals(rs.getInt(7), Integer.MIN_VALUE);
+
+            assertTrue(rs.next());
+            assertEquals(rs.getObject(1), (short) 1);
+            assertEquals(rs.getObject(2), 2);
+            assertEquals(rs.getObject(3), 3L);
+            assertEquals(rs.getObject(4), BigInteger.valueOf(4));
+            assertEquals(rs.getObject(5), BigInteger.valueOf(-5));
+            assertEquals(rs.getObject(6), BigInteger.valueOf(6));
+            assertEquals(rs.getInt(7), 7);
+            assertFalse(rs.next());
+        }
+    }
+
     public static void test_multiple_statements_execution() throws Exception {
         Connection conn = DriverManager.getConnection(JDBC_URL);
         Statement stmt = conn.createStatement();
@@ -2220,6 +2287,122 @@ public class TestDuckDBJDBC {
         conn.close();
     }
 
+    public static void test_appender_append_columns() throws Exception {
+        DuckDBConnection conn = DriverManager.getConnection(JDBC_URL).unwrap(DuckDBConnection.class);
+        Statement stmt = conn.createStatement();
+
+        stmt.execute("CREATE TABLE columns (a BIGINT, b INTEGER, c DOUBLE, d VARCHAR, e TIMESTAMP, f DATE)");
+        DuckDBAppender appender = conn.createAppender(DuckDBConnection.DEFAULT_SCHEMA, "columns");
+
+        int rowCount = 5000;
+        int[] a = new int[rowCount];
+        int[] b = new int[rowCount];
+        double[] c = new double[rowCount];
+        String[] d = new String[rowCount];
+        long[] e = new long[rowCount];
+        int[] f = new int[rowCount];
+        boolean[] bNulls = new boolean[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            a[i] = i;
+            b[i] = i * 2;
+            c[i] = i / 2.0;
+            d[i] = i % 3 == 0 ? null : "row " + i;
+            e[i] = i * 1_000_000L;
+            f[i] = i;
+            bNulls[i] = i % 5 == 0;
+        }
+        appender.appendColumns(new Object[] {a, b, c, d, e, f}, new boolean[][] {null, bNulls, null, null, null, null});
+        appender.close();
+
+        ResultSet rs = stmt.executeQuery("SELECT count(*), sum(a), count(b), count(d), max(e), max(f) FROM columns");
+        assertTrue(rs.next());
+        assertEquals(rs.getLong(1), (long) rowCount);
+        assertEquals(rs.getLong(2), (long) rowCount * (rowCount - 1) / 2);
+        assertEquals(rs.getLong(3), (long) rowCount - rowCount / 5);
+        assertEquals(rs.getLong(4), (long) rowCount - (rowCount + 2) / 3);
+        assertEquals(rs.getObject(5, LocalDateTime.class), LocalDateTime.of(1970, 1, 1, 1, 23, 19));
+        assertEquals(rs.getDate(6).toLocalDate(), LocalDate.ofEpochDay(rowCount - 1));
+        rs.close();
+
+        rs = stmt.executeQuery("SELECT a, b, c, d FROM columns WHERE a = 4001");
+        assertTrue(rs.next());
+        assertEquals(rs.getLong(1), 4001L);
+        assertEquals(rs.getInt(2), 8002);
+        assertEquals(rs.getDouble(3), 2000.5);
+        assertEquals(rs.getString(4), "row 4001");
+        assertFalse(rs.next());
+        rs.close();
+
+        stmt.close();
+        conn.close();
+    }
+
+    public static void test_appender_append_columns_mismatch() throws Exception {
+        DuckDBConnection conn = DriverManager.getConnection(JDBC_URL).unwrap(DuckDBConnection.class);
+        Statement stmt = conn.createStatement();
+
+        stmt.execute("CREATE TABLE data (a INTEGER, b INTEGER)");
+        stmt.close();
+        DuckDBAppender appender = conn.createAppender(DuckDBConnection.DEFAULT_SCHEMA, "data");
+
+        assertThrows(() -> { appender.appendColumns(new Object[] {new int[] {1, 2}}); }, SQLException.class);
+        assertThrows(() -> {
+            appender.appendColumns(new Object[] {new int[] {1, 2}, new int[] {1}});
+        }, SQLException.class);
+        assertThrows(() -> {
+            appender.appendColumns(new Object[] {new int[] {1}, new Object[] {1}});
+        }, SQLException.class);
+        assertThrows(() -> { appender.appendColumns(new Object[] {"a", new int[] {1}}); }, SQLException.class);
+        String message = assertThrows(() -> {
+            appender.appendColumns(new Object[] {new int[] {1, 2}, "ab"});
+        }, SQLException.class);
+        assertTrue(message.contains("Unsupported array type for column 2"));
+
+        appender.close();
+        conn.close();
+    }
+
+    public static void test_appender_direct_chunk() throws Exception {
+        DuckDBConnection conn = DriverManager.getConnection(JDBC_URL).unwrap(DuckDBConnection.class);
+        Statement stmt = conn.createStatement();
+
+        stmt.execute("CREATE TABLE telemetry (a BIGINT, b DOUBLE, c TIMESTAMP)");
+        DuckDBAppender appender = conn.createAppender(DuckDBConnection.DEFAULT_SCHEMA, "telemetry");
+        DuckDBAppender.DirectChunk chunk = appender.createDirectChunk(3000);
+        assertEquals(chunk.getColumnCount(), 3);
+        assertEquals(chunk.getWidth(1), 8);
+
+        for (int batch = 0; batch < 2; batch++) {
+            for (int i = 0; i < 2500; i++) {
+                chunk.putLong(0, i, batch * 2500 + i);
+                chunk.putDouble(1, i, i / 4.0);
+                chunk.putLong(2, i, i * 1_000_000L);
+                if (batch == 0 && i % 10 == 0) {
+                    chunk.setNull(1, i);
+                }
+            }
+            appender.appendDirectChunk(chunk, 2500);
+        }
+        appender.close();
+
+        ResultSet rs = stmt.executeQuery("SELECT count(*), count(DISTINCT a), count(b), max(b), max(c) FROM telemetry");
+        assertTrue(rs.next());
+        assertEquals(rs.getLong(1), 5000L);
+        assertEquals(rs.getLong(2), 5000L);
+        assertEquals(rs.getLong(3), 4750L);
+        assertEquals(rs.getDouble(4), 2499 / 4.0);
+        assertEquals(rs.getObject(5, LocalDateTime.class), LocalDateTime.of(1970, 1, 1, 0, 41, 39));
+        rs.close();
+
+        stmt.execute("CREATE TABLE strings (a VARCHAR)");
+        DuckDBAppender stringAppender = conn.createAppender(DuckDBConnection.DEFAULT_SCHEMA, "strings");
+        assertThrows(() -> { stringAppender.createDirectChunk(10); }, SQLException.class);
+        stringAppender.close();
+
+        stmt.close();
+        conn.close();
+    }
+
     public static void test_appender_date_and_time() throws Exception {
         DuckDBConnection conn = DriverManager.getConnection(JDBC_URL).unwrap(DuckDBConnection.class);
         Statement stmt = conn.createStatement();
@@ -2734,6 +2917,876 @@ public class TestDuckDBJDBC {
         conn.close();
     }
 
+    public static void test_string_bytes() throws Exception {
+        DuckDBConnection conn = DriverManager.getConnection(JDBC_URL).unwrap(DuckDBConnection.class);
+        Statement stmt = conn.createStatement();
+
+        DuckDBResultSet rs = stmt.executeQuery("SELECT CASE WHEN i % 3 = 0 THEN NULL ELSE 'Mühleisen ' || i END, i "
+                                               + "FROM range(5000) t(i)")
+                                 .unwrap(DuckDBResultSet.class);
+        int rows = 0;
+        while (rs.next()) {
+            long i = rs.getLong(2);
+            if (i % 3 == 0) {
+                assertNull(rs.getStringBytes(1));
+                assertNull(rs.getUtf8Slice(1));
+                assertNull(rs.getString(1));
+            } else {
+                String expected = "Mühleisen " + i;
+                byte[] expectedBytes = expected.getBytes(StandardCharsets.UTF_8);
+                assertEquals(new String(rs.getStringBytes(1), StandardCharsets.UTF_8), expected);
+                ByteBuffer slice = rs.getUtf8Slice(1);
+                assertEquals(slice.remaining(), expectedBytes.length);
+                assertEquals(slice, ByteBuffer.wrap(expectedBytes));
+                assertEquals(rs.getString(1), expected);
+            }
+            rows++;
+        }
+        assertEquals(rows, 5000);
+
+        rs.close();
+        stmt.close();
+        conn.close();
+    }
+
+    public static void test_null_validity() throws Exception {
+        try (Connection conn = DriverManager.getConnection(JDBC_URL); Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery(
+                     "SELECT CASE WHEN i % 63 = 0 THEN NULL ELSE i END, NULL::INTEGER, "
+                     + "CASE WHEN i % 64 = 1 THEN NULL ELSE ['a', 'b', 'c'][i % 3 + 1] END, "
+                     + "[CASE WHEN i % 2 = 0 THEN NULL ELSE i END] FROM range(3000) t(i)")) {
+                long i = 0;
+                while (rs.next()) {
+                    rs.getLong(1);
+                    assertEquals(rs.wasNull(), i % 63 == 0);
+                    rs.getInt(2);
+                    assertTrue(rs.wasNull());
+                    rs.getString(3);
+                    assertEquals(rs.wasNull(), i % 64 == 1);
+                    Object[] list = (Object[]) rs.getArray(4).getArray();
+                    assertEquals(list[0] == null, i % 2 == 0);
+                    i++;
+                }
+                assertEquals(i, 3000L);
+            }
+        }
+    }
+
+    public static void test_result_set_meta_data_types() throws Exception {
+        try (Connection conn = DriverManager.getConnection(JDBC_URL); Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT 42 AS \"ñame\", 1.5::DECIMAL(18, 3) AS d, 2.5::DECIMAL(30, 4) AS h, [1] AS l, "
+                 + "{'a': 1} AS s, TIMESTAMPTZ '2024-01-01 00:00:00+00' AS tz, '[1, 2]'::JSON AS j, 1::UHUGEINT AS u")) {
+            ResultSetMetaData meta = rs.getMetaData();
+            assertEquals(meta.getColumnCount(), 8);
+            assertEquals(meta.getColumnName(1), "ñame");
+            assertEquals(rs.findColumn("ñame"), 1);
+            assertEquals(rs.findColumn("u"), 8);
+
+            assertEquals(meta.getColumnTypeName(1), "INTEGER");
+            assertEquals(meta.getColumnType(1), Types.INTEGER);
+            assertEquals(meta.getColumnTypeName(2), "DECIMAL(18,3)");
+            assertEquals(meta.getColumnType(2), Types.DECIMAL);
+            assertEquals(meta.getPrecision(2), 18);
+            assertEquals(meta.getScale(2), 3);
+            assertEquals(meta.getPrecision(3), 30);
+            assertEquals(meta.getScale(3), 4);
+            assertEquals(meta.getPrecision(1), 0);
+            assertEquals(meta.getColumnTypeName(4), "INTEGER[]");
+            assertEquals(meta.getColumnType(4), Types.ARRAY);
+            assertEquals(meta.getColumnType(5), Types.STRUCT);
+            assertEquals(meta.getColumnType(6), Types.TIMESTAMP_WITH_TIMEZONE);
+            assertEquals(meta.getColumnTypeName(7), "JSON");
+            assertEquals(meta.getColumnClassName(7), JsonNode.class.getName());
+            assertEquals(meta.getColumnClassName(8), BigInteger.class.getName());
+        }
+    }
+
+    public static void test_vector_types() throws Exception {
+        try (Connection conn = DriverManager.getConnection(JDBC_URL); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TYPE mood AS ENUM ('sad', 'happy')");
+            try (ResultSet rs = stmt.executeQuery(
+                     "SELECT [1.25::DECIMAL(4, 2), NULL] AS d, [123456.789::DECIMAL(20, 3)] AS h, "
+                     + "['happy'::mood] AS e, [TIMESTAMPTZ '2024-01-01 00:00:00+00'] AS tz, "
+                     + "{'x': 7.5::DECIMAL(9, 1)} AS s")) {
+                assertTrue(rs.next());
+                Array d = rs.getArray(1);
+                assertEquals(d.getBaseTypeName(), "DECIMAL");
+                Object[] ds = (Object[]) d.getArray();
+                assertEquals(ds[0], new BigDecimal("1.25"));
+                assertNull(ds[1]);
+                assertEquals(((Object[]) rs.getArray(2).getArray())[0], new BigDecimal("123456.789"));
+                Array e = rs.getArray(3);
+                assertEquals(e.getBaseTypeName(), "UNKNOWN");
+                assertEquals(((Object[]) e.getArray())[0], "happy");
+                assertEquals(rs.getArray(4).getBaseTypeName(), "TIMESTAMP_WITH_TIME_ZONE");
+                Struct s = (Struct) rs.getObject(5);
+                assertEquals(s.getAttributes()[0], new BigDecimal("7.5"));
+            }
+        }
+    }
+
+    public static void test_struct_field() throws Exception {
+        try (Connection conn = DriverManager.getConnection(JDBC_URL); Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT CASE WHEN i = 1 THEN NULL ELSE {'a': i, 'b': 'x' || i, 'c': [i, NULL]} END AS s, "
+                 + "union_value(n := i::INTEGER) :: UNION(n INTEGER, t VARCHAR) AS u FROM range(3) t(i)")) {
+            DuckDBResultSet drs = rs.unwrap(DuckDBResultSet.class);
+
+            assertTrue(rs.next());
+            assertEquals(drs.getStructField(1, 1), 0L);
+            assertEquals(drs.getStructField(1, 2), "x0");
+            assertFalse(rs.wasNull());
+            DuckDBStruct s = (DuckDBStruct) drs.getStruct(1);
+            assertEquals(s.getSQLTypeName(), "STRUCT(a BIGINT, b VARCHAR, c BIGINT[])");
+            assertEquals(s.getAttribute(1), "x0");
+            assertEquals(s.getMap().get("a"), 0L);
+            assertEquals(rs.getObject(2), 0);
+            assertThrows(() -> drs.getStructField(1, 4), SQLException.class);
+            assertThrows(() -> drs.getStructField(3, 1), SQLException.class);
+
+            assertTrue(rs.next());
+            assertNull(drs.getStructField(1, 2));
+            assertTrue(rs.wasNull());
+            assertNull(drs.getStruct(1));
+
+            assertTrue(rs.next());
+            assertEquals(drs.getStructField(1, 2), "x2");
+            Object[] list = (Object[]) ((Array) drs.getStructField(1, 3)).getArray();
+            assertEquals(list[0], 2L);
+            assertNull(list[1]);
+            assertEquals(rs.getObject(2), 2);
+        }
+    }
+
+    public static void test_struct_field_view_across_chunks() throws Exception {
+        try (Connection conn = DriverManager.getConnection(JDBC_URL); Statement stmt = conn.createStatement()) {
+            stmt.setFetchSize(50000);
+            try (ResultSet rs = stmt.executeQuery("SELECT {'a': i, 'l': [i, i + 1, i + 2]}, "
+                                                  + "union_value(l := [i]) :: UNION(n INTEGER, l BIGINT[]) "
+                                                  + "FROM range(200000) t(i)")) {
+                DuckDBResultSet drs = rs.unwrap(DuckDBResultSet.class);
+                assertTrue(rs.next());
+                // views of a child vector outlive the chunk like views of the column itself
+                Array list = (Array) drs.getStructField(1, 2);
+                Array member = (Array) rs.getObject(2);
+                for (int i = 0; i < 120000; i++) {
+                    assertTrue(rs.next());
+                }
+                assertEquals(((Object[]) list.getArray())[2], 2L);
+                assertEquals(((Object[]) member.getArray())[0], 0L);
+            }
+        }
+    }
+
+    public static void test_array_primitive_elements() throws Exception {
+        try (Connection conn = DriverManager.getConnection(JDBC_URL); Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT [i::INTEGER, NULL, 3] AS l, [i, i + 1]::BIGINT[] AS b, "
+                 + "[i / 2, 1.5]::DOUBLE[] AS d, [i, 0.25, 3]::FLOAT[3] AS e, MAP {'k': i} AS m "
+                 + "FROM range(3000) t(i)")) {
+            int rows = 0;
+            while (rs.next()) {
+                DuckDBArray l = (DuckDBArray) rs.getArray(1);
+                int[] ints = l.toIntArray();
+                assertEquals(ints.length, 3);
+                assertEquals(ints[0], rows);
+                assertEquals(ints[1], 0);
+                assertEquals(ints[2], 3);
+                Object[] objects = (Object[]) l.getArray();
+                assertNull(objects[1]);
+
+                long[] longs = ((DuckDBArray) rs.getArray(2)).toLongArray();
+                assertEquals(longs[1], rows + 1L);
+                double[] doubles = ((DuckDBArray) rs.getArray(3)).toDoubleArray();
+                assertEquals(doubles[0], rows / 2.0);
+                float[] floats = ((DuckDBArray) rs.getArray(4)).toFloatArray();
+                assertEquals(floats.length, 3);
+                assertEquals(floats[0], (float) rows);
+                assertEquals(floats[1], 0.25f);
+                assertEquals(((DuckDBArray) rs.getArray(4)).toDoubleArray()[2], 3.0);
+                assertEquals(((Map<?, ?>) rs.getObject(5)).get("k"), (long) rows);
+                rows++;
+            }
+            assertEquals(rows, 3000);
+        }
+        try (Connection conn = DriverManager.getConnection(JDBC_URL); Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT [1, 2] AS l, {'a': 1} AS s")) {
+            assertTrue(rs.next());
+            assertEquals(rs.getString(1), "[1, 2]");
+            assertEquals(rs.getString(2), "{a=1}");
+            assertEquals(rs.getArray(1).toString(), "[1, 2]");
+        }
+    }
+
+    public static void test_scalar_function() throws Exception {
+        try (DuckDBConnection conn = DriverManager.getConnection(JDBC_URL).unwrap(DuckDBConnection.class);
+             Statement stmt = conn.createStatement()) {
+            conn.registerScalarFunction("java_square", new String[] {"INTEGER"}, "BIGINT", (input, output) -> {
+                int[] values = new int[input.getRowCount()];
+                input.getInts(0, values);
+                for (int row = 0; row < values.length; row++) {
+                    if (input.isNull(0, row)) {
+                        output.setNull(row);
+                    } else {
+                        output.setLong(row, (long) values[row] * values[row]);
+                    }
+                }
+            });
+            conn.registerScalarFunction("java_upper", new String[] {"VARCHAR"}, "VARCHAR", (input, output) -> {
+                for (int row = 0; row < input.getRowCount(); row++) {
+                    String value = input.getString(0, row);
+                    if (value != null) {
+                        output.setString(row, value.toUpperCase());
+                    }
+                }
+            });
+            // rows that are not set are NULL
+            conn.registerScalarFunction("java_even", new String[] {"BIGINT"}, "BIGINT", (input, output) -> {
+                long[] values = new long[input.getRowCount()];
+                input.getLongs(0, values);
+                for (int row = 0; row < values.length; row++) {
+                    if (values[row] % 2 == 0) {
+                        output.setLong(row, values[row]);
+                    }
+                }
+            });
+            conn.registerScalarFunction("java_fail", new String[] {"INTEGER"}, "INTEGER", (input, output) -> {
+                throw new IllegalStateException("java_fail was called");
+            });
+
+            try (ResultSet rs = stmt.executeQuery(
+                     "SELECT sum(java_square(CASE WHEN i % 10 = 0 THEN NULL ELSE i END::INTEGER)), "
+                     + "count(java_square(CASE WHEN i % 10 = 0 THEN NULL ELSE i END::INTEGER)) FROM range(5000) t(i)")) {
+                assertTrue(rs.next());
+                long expected = 0;
+                for (long i = 0; i < 5000; i++) {
+                    expected += i % 10 == 0 ? 0 : i * i;
+                }
+                assertEquals(rs.getLong(1), expected);
+                assertEquals(rs.getLong(2), 4500L);
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT java_upper(s) FROM (VALUES ('abc'), (NULL), "
+                                                  + "('a string longer than twelve bytes')) t(s)")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getString(1), "ABC");
+                assertTrue(rs.next());
+                assertNull(rs.getString(1));
+                assertTrue(rs.next());
+                assertEquals(rs.getString(1), "A STRING LONGER THAN TWELVE BYTES");
+                assertFalse(rs.next());
+            }
+            // constant NULL arguments reach the function as well
+            conn.registerScalarFunction("java_null_to_zero", new String[] {"INTEGER"}, "INTEGER", (input, output) -> {
+                for (int row = 0; row < input.getRowCount(); row++) {
+                    output.setInt(row, input.isNull(0, row) ? 0 : input.getInt(0, row));
+                }
+            });
+            try (ResultSet rs = stmt.executeQuery("SELECT java_null_to_zero(NULL), java_null_to_zero(NULL::INTEGER), "
+                                                  + "java_null_to_zero(CASE WHEN i = 0 THEN NULL ELSE 7 END) "
+                                                  + "FROM range(2) t(i) ORDER BY i")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getInt(1), 0);
+                assertFalse(rs.wasNull());
+                assertEquals(rs.getInt(2), 0);
+                assertFalse(rs.wasNull());
+                assertEquals(rs.getInt(3), 0);
+                assertTrue(rs.next());
+                assertEquals(rs.getInt(3), 7);
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT count(java_even(i)), sum(java_even(i)) FROM range(5000) t(i)")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getLong(1), 2500L);
+                assertEquals(rs.getLong(2), 6247500L);
+            }
+            String message =
+                assertThrows(() -> stmt.executeQuery("SELECT java_fail(42)"), SQLException.class);
+            assertTrue(message.contains("java_fail was called"));
+            assertThrows(() -> {
+                conn.registerScalarFunction("java_struct", new String[0], "STRUCT(i INTEGER)", (input, output) -> {});
+            }, SQLException.class);
+        }
+    }
+
+    public static void test_aggregate_function() throws Exception {
+        // sum of squares and the longest string of a group, with long[] and String[] states
+        DuckDBAggregateFunction<long[]> sumOfSquares = new DuckDBAggregateFunction<long[]>() {
+            @Override
+            public long[] createState() {
+                return new long[1];
+            }
+
+            @Override
+            public void update(DuckDBDataChunk input, List<long[]> states) throws SQLException {
+                long[] values = new long[input.getRowCount()];
+                input.getLongs(0, values);
+                for (int row = 0; row < values.length; row++) {
+                    if (!input.isNull(0, row)) {
+                        states.get(row)[0] += values[row] * values[row];
+                    }
+                }
+            }
+
+            @Override
+            public void combine(List<long[]> sources, List<long[]> targets) {
+                for (int i = 0; i < sources.size(); i++) {
+                    targets.get(i)[0] += sources.get(i)[0];
+                }
+            }
+
+            @Override
+            public void finish(List<long[]> states, DuckDBOutputVector output) throws SQLException {
+                for (int i = 0; i < states.size(); i++) {
+                    output.setLong(i, states.get(i)[0]);
+                }
+            }
+        };
+        DuckDBAggregateFunction<String[]> longest = new DuckDBAggregateFunction<String[]>() {
+            @Override
+            public String[] createState() {
+                return new String[1];
+            }
+
+            @Override
+            public void update(DuckDBDataChunk input, List<String[]> states) {
+                for (int row = 0; row < input.getRowCount(); row++) {
+                    String value = input.getString(0, row);
+                    String[] state = states.get(row);
+                    if (value != null && (state[0] == null || value.length() > state[0].length())) {
+                        state[0] = value;
+                    }
+                }
+            }
+
+            @Override
+            public void combine(List<String[]> sources, List<String[]> targets) {
+                for (int i = 0; i < sources.size(); i++) {
+                    String value = sources.get(i)[0];
+                    String[] target = targets.get(i);
+                    if (value != null && (target[0] == null || value.length() > target[0].length())) {
+                        target[0] = value;
+                    }
+                }
+            }
+
+            @Override
+            public void finish(List<String[]> states, DuckDBOutputVector output) throws SQLException {
+                for (int i = 0; i < states.size(); i++) {
+                    output.setString(i, states.get(i)[0]);
+                }
+            }
+        };
+
+        try (DuckDBConnection conn = DriverManager.getConnection(JDBC_URL).unwrap(DuckDBConnection.class);
+             Statement stmt = conn.createStatement()) {
+            conn.registerAggregateFunction("java_sum_of_squares", new String[] {"BIGINT"}, "BIGINT", sumOfSquares);
+            conn.registerAggregateFunction("java_longest", new String[] {"VARCHAR"}, "VARCHAR", longest);
+            stmt.execute("SET threads = 4");
+            stmt.execute("CREATE TABLE t AS SELECT i, CASE WHEN i % 7 = 0 THEN NULL ELSE i END AS v, "
+                         + "repeat('x', (i % 97)::INTEGER) AS s FROM range(1000000) t(i)");
+
+            try (ResultSet rs = stmt.executeQuery(
+                     "SELECT i % 100 AS g, java_sum_of_squares(v) = sum(v * v)::BIGINT, "
+                     + "java_longest(s) = repeat('x', (max(i % 97))::INTEGER) FROM t GROUP BY g ORDER BY g")) {
+                int groups = 0;
+                while (rs.next()) {
+                    assertEquals(rs.getInt(1), groups);
+                    assertTrue(rs.getBoolean(2));
+                    assertTrue(rs.getBoolean(3));
+                    groups++;
+                }
+                assertEquals(groups, 100);
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT java_sum_of_squares(v), sum(v * v)::BIGINT, "
+                                                  + "java_longest(s) FROM t WHERE i < 10000")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getLong(1), rs.getLong(2));
+                assertEquals(rs.getString(3).length(), 96);
+            }
+            // no rows: the result is computed from a new state
+            try (ResultSet rs = stmt.executeQuery("SELECT java_sum_of_squares(v), java_longest(s) FROM t WHERE i < 0")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getLong(1), 0L);
+                assertNull(rs.getString(2));
+            }
+        }
+    }
+
+    public static void test_table_function() throws Exception {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            names.add(i % 10 == 0 ? null : "name " + i);
+        }
+        Map<String, String> schema = new LinkedHashMap<>();
+        schema.put("id", "INTEGER");
+        schema.put("name", "VARCHAR");
+
+        try (DuckDBConnection conn = DriverManager.getConnection(JDBC_URL).unwrap(DuckDBConnection.class);
+             Statement stmt = conn.createStatement()) {
+            // a single producer pulling from an iterator
+            conn.registerTableFunction("java_names", schema, () -> {
+                Iterator<String> it = names.iterator();
+                int[] next_id = {0};
+                return columns -> {
+                    int rows = 0;
+                    while (rows < columns[0].getRowCount() && it.hasNext()) {
+                        columns[0].setInt(rows, next_id[0]++);
+                        columns[1].setString(rows, it.next());
+                        rows++;
+                    }
+                    return rows;
+                };
+            });
+            try (ResultSet rs = stmt.executeQuery("SELECT count(*), count(name), sum(id), max(name) FROM java_names()")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getLong(1), 5000L);
+                assertEquals(rs.getLong(2), 4500L);
+                assertEquals(rs.getLong(3), 4999L * 5000 / 2);
+                assertEquals(rs.getString(4), "name 999");
+            }
+            try (ResultSet rs = stmt.executeQuery(
+                     "SELECT n.name FROM java_names() n JOIN range(5000) r(i) ON n.id = r.i WHERE r.i = 4321")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getString(1), "name 4321");
+                assertFalse(rs.next());
+            }
+
+            // four producers, each taking ranges of 1000 ids until 1000000 are produced, created one at a time
+            AtomicInteger next_range = new AtomicInteger();
+            AtomicInteger suppliers_running = new AtomicInteger();
+            AtomicInteger overlapping_suppliers = new AtomicInteger();
+            conn.registerTableFunction("java_ranges", Collections.singletonMap("id", "BIGINT"), () -> {
+                if (suppliers_running.incrementAndGet() > 1) {
+                    overlapping_suppliers.incrementAndGet();
+                }
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                suppliers_running.decrementAndGet();
+                return columns -> {
+                    int start = next_range.getAndIncrement() * 1000;
+                    if (start >= 1000000) {
+                        return 0;
+                    }
+                    for (int row = 0; row < 1000; row++) {
+                        columns[0].setLong(row, start + row);
+                    }
+                    return 1000;
+                };
+            }, 4);
+            stmt.execute("SET threads = 4");
+            try (ResultSet rs = stmt.executeQuery("SELECT count(*), count(DISTINCT id), sum(id) FROM java_ranges()")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getLong(1), 1000000L);
+                assertEquals(rs.getLong(2), 1000000L);
+                assertEquals(rs.getLong(3), 999999L * 1000000 / 2);
+            }
+            assertEquals(overlapping_suppliers.get(), 0);
+
+            conn.registerTableFunction("java_fail", schema, () -> columns -> {
+                throw new IllegalStateException("producer failed");
+            });
+            String message = assertThrows(() -> stmt.executeQuery("SELECT * FROM java_fail()"), SQLException.class);
+            assertTrue(message.contains("producer failed"));
+        }
+    }
+
+    public static void test_register_columns() throws Exception {
+        int rows = 100000;
+        long[] ids = new long[rows];
+        double[] scores = new double[rows];
+        LongBuffer weights = ByteBuffer.allocateDirect(rows * 8).order(ByteOrder.nativeOrder()).asLongBuffer();
+        for (int i = 0; i < rows; i++) {
+            ids[i] = i;
+            scores[i] = i * 0.5;
+            weights.put(i, i * 2L);
+        }
+        Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("id", ids);
+        columns.put("score", scores);
+        columns.put("weight", weights);
+
+        try (DuckDBConnection conn = DriverManager.getConnection(JDBC_URL).unwrap(DuckDBConnection.class);
+             Statement stmt = conn.createStatement()) {
+            conn.registerColumns("java_data", columns);
+            stmt.execute("SET threads = 4");
+            try (ResultSet rs = stmt.executeQuery("SELECT count(*), sum(id), sum(score), sum(weight) FROM java_data")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getLong(1), (long) rows);
+                assertEquals(rs.getLong(2), (rows - 1L) * rows / 2);
+                assertEquals(rs.getDouble(3), (rows - 1L) * rows / 4.0);
+                assertEquals(rs.getLong(4), (rows - 1L) * rows);
+            }
+            try (ResultSet rs = stmt.executeQuery(
+                     "SELECT count(*), sum(score) FROM java_data WHERE id BETWEEN 1000 AND 1999 OR id = 99999")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getLong(1), 1001L);
+                assertEquals(rs.getDouble(2), 1499500 / 2.0 + 99999 * 0.5);
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT weight FROM java_data WHERE score = 21.5")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getLong(1), 86L);
+                assertFalse(rs.next());
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT count(*) FROM java_data d JOIN range(0, 100000, 7) r(i) "
+                                                  + "ON d.id = r.i WHERE d.weight < 1000")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getLong(1), 72L);
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT id FROM java_data OFFSET 70000 LIMIT 1")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getLong(1), 70000L);
+            }
+
+            // the direct buffer is scanned in place, the array was copied when registered
+            weights.put(0, -1L);
+            ids[0] = -1L;
+            try (ResultSet rs = stmt.executeQuery("SELECT id, weight FROM java_data WHERE id = 0")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getLong(1), 0L);
+                assertEquals(rs.getLong(2), -1L);
+            }
+
+            conn.registerColumns("java_data", Collections.singletonMap("id", new int[] {1, 2, 3}));
+            try (ResultSet rs = stmt.executeQuery("SELECT sum(id) FROM java_data")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getLong(1), 6L);
+            }
+
+            Map<String, Object> uneven = new LinkedHashMap<>();
+            uneven.put("a", new long[3]);
+            uneven.put("b", new long[4]);
+            assertThrows(() -> conn.registerColumns("java_uneven", uneven), SQLException.class);
+            LongBuffer swapped = ByteBuffer.allocateDirect(8)
+                                     .order(ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ? ByteOrder.LITTLE_ENDIAN
+                                                                                            : ByteOrder.BIG_ENDIAN)
+                                     .asLongBuffer();
+            assertThrows(()
+                             -> conn.registerColumns("java_swapped", Collections.singletonMap("a", swapped)),
+                         SQLException.class);
+        }
+    }
+
+    public static void test_data_source() throws Exception {
+        DuckDBDataSource dataSource = new DuckDBDataSource(JDBC_URL, 2);
+        try {
+            assertEquals(dataSource.getIdleConnections(), 2);
+            assertEquals(dataSource.getActiveConnections(), 0);
+
+            DuckDBConnection physical;
+            Statement leaked;
+            try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+                assertEquals(dataSource.getActiveConnections(), 1);
+                physical = conn.unwrap(DuckDBConnection.class);
+                assertTrue(conn.unwrap(Connection.class) == conn);
+                // statements lead back to the pooled connection, not to the underlying one
+                assertTrue(stmt.getConnection() == conn);
+                leaked = conn.prepareStatement("SELECT 1");
+                assertTrue(leaked.getConnection() == conn);
+                stmt.execute("CREATE TABLE shared (i INTEGER)");
+                stmt.execute("CREATE SCHEMA other");
+                stmt.execute("CREATE TEMP TABLE scratch (i INTEGER)");
+                stmt.execute("SET integer_division = true");
+                conn.setSchema("other");
+                conn.setAutoCommit(false);
+                stmt.execute("INSERT INTO main.shared VALUES (42)");
+            }
+            assertEquals(dataSource.getActiveConnections(), 0);
+            assertEquals(dataSource.getIdleConnections(), 2);
+            assertTrue(leaked.isClosed());
+            assertThrows(leaked::getConnection, SQLException.class);
+
+            // the same connection is handed out again, without the state of its previous session
+            try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+                assertEquals(conn.unwrap(DuckDBConnection.class), physical);
+                assertTrue(conn.getAutoCommit());
+                assertEquals(conn.getSchema(), "main");
+                try (ResultSet rs = stmt.executeQuery("SELECT count(*), 7 / 2 FROM shared")) {
+                    assertTrue(rs.next());
+                    assertEquals(rs.getLong(1), 0L);
+                    assertEquals(rs.getDouble(2), 3.5);
+                }
+                assertThrows(() -> conn.createStatement().executeQuery("SELECT * FROM scratch"), SQLException.class);
+                stmt.execute("INSERT INTO shared VALUES (1)");
+
+                // all connections share the database
+                try (Connection other = dataSource.getConnection(); Statement other_stmt = other.createStatement();
+                     ResultSet rs = other_stmt.executeQuery("SELECT sum(i) FROM shared")) {
+                    assertTrue(rs.next());
+                    assertEquals(rs.getLong(1), 1L);
+                    assertEquals(dataSource.getActiveConnections(), 2);
+                    assertEquals(dataSource.getIdleConnections(), 0);
+                }
+            }
+
+            Connection closed = dataSource.getConnection();
+            closed.close();
+            closed.close();
+            assertTrue(closed.isClosed());
+            assertThrows(closed::createStatement, SQLException.class);
+            assertEquals(dataSource.getIdleConnections(), 2);
+
+            // all connections in use
+            dataSource.setLoginTimeout(1);
+            try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+                assertFalse(first.isClosed());
+                assertFalse(second.isClosed());
+                long waited = dataSource.getWaitTimeNanos();
+                assertThrows(dataSource::getConnection, SQLTimeoutException.class);
+                assertTrue(dataSource.getWaitTimeNanos() - waited >= TimeUnit.MILLISECONDS.toNanos(900));
+            }
+
+            // many threads sharing two connections
+            dataSource.setLoginTimeout(0);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                long n = i;
+                results.add(executor.submit(() -> {
+                    try (Connection conn = dataSource.getConnection();
+                         PreparedStatement ps = conn.prepareStatement("SELECT ? + count(*) FROM shared")) {
+                        assertTrue(dataSource.getActiveConnections() <= 2);
+                        ps.setLong(1, n);
+                        try (ResultSet rs = ps.executeQuery()) {
+                            rs.next();
+                            return rs.getLong(1);
+                        }
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(results.get(i).get(), i + 1L);
+            }
+            executor.shutdown();
+            assertEquals(dataSource.getActiveConnections(), 0);
+        } finally {
+            dataSource.close();
+        }
+        assertTrue(dataSource.isClosed());
+        assertEquals(dataSource.getIdleConnections(), 0);
+        assertThrows(dataSource::getConnection, SQLException.class);
+    }
+
+    public static void test_float_arrays() throws Exception {
+        try (Connection conn = DriverManager.getConnection(JDBC_URL); Statement stmt = conn.createStatement();
+             ResultSet rs =
+                 stmt.executeQuery("SELECT i, [i, i + 0.5, -i, 1]::FLOAT[4] AS e FROM range(5000) t(i)")) {
+            DuckDBResultSet drs = rs.unwrap(DuckDBResultSet.class);
+            long[] ids = new long[DuckDBNative.duckdb_jdbc_fetch_size()];
+            int total = 0;
+            int rows;
+            while ((rows = drs.nextChunk()) > 0) {
+                drs.getLongs(1, ids);
+                FloatBuffer embeddings = drs.getFloatArrays(2);
+                assertTrue(embeddings.isReadOnly());
+                assertEquals(embeddings.remaining(), rows * 4);
+                for (int row = 0; row < rows; row++) {
+                    assertEquals(embeddings.get(row * 4), (float) ids[row]);
+                    assertEquals(embeddings.get(row * 4 + 1), ids[row] + 0.5f);
+                    assertEquals(embeddings.get(row * 4 + 2), (float) -ids[row]);
+                    assertEquals(embeddings.get(row * 4 + 3), 1f);
+                }
+                total += rows;
+            }
+            assertEquals(total, 5000);
+        }
+        try (Connection conn = DriverManager.getConnection(JDBC_URL); Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT [1, 2]::DOUBLE[2]")) {
+            DuckDBResultSet drs = rs.unwrap(DuckDBResultSet.class);
+            assertTrue(drs.nextChunk() > 0);
+            assertThrows(() -> drs.getFloatArrays(1), SQLFeatureNotSupportedException.class);
+        }
+    }
+
+    public static void test_array_parameters() throws Exception {
+        try (Connection conn = DriverManager.getConnection(JDBC_URL); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE items (id BIGINT, emb FLOAT[3])");
+            stmt.execute("INSERT INTO items SELECT i, [i, 1, 0]::FLOAT[3] FROM range(10) t(i)");
+
+            try (PreparedStatement ps =
+                     conn.prepareStatement("SELECT count(*) FROM items WHERE id IN (SELECT unnest(?))")) {
+                ps.setObject(1, new long[] {1, 3, 5, 42});
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(rs.getLong(1), 3L);
+                }
+                ps.setObject(1, new long[0]);
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(rs.getLong(1), 0L);
+                }
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(
+                     "SELECT id FROM items ORDER BY array_cosine_similarity(emb, ?) DESC, id LIMIT 1")) {
+                ps.setObject(1, new float[] {0, 1, 0});
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(rs.getLong(1), 0L);
+                }
+                ps.setObject(1, new double[] {1, 0, 0});
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(rs.getLong(1), 9L);
+                }
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement("INSERT INTO items VALUES (?, ?)")) {
+                ps.setLong(1, 10);
+                ps.setObject(2, new float[] {0, 0, 1});
+                assertEquals(ps.executeUpdate(), 1);
+                ps.setLong(1, 11);
+                ps.setObject(2, new float[] {0, 1});
+                assertThrows(ps::executeUpdate, SQLException.class);
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT emb::VARCHAR FROM items WHERE id = 10")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getString(1), "[0.0, 0.0, 1.0]");
+            }
+            stmt.execute("DELETE FROM items WHERE id = 10");
+
+            try (PreparedStatement ps = conn.prepareStatement("SELECT ?, ?, ?")) {
+                ps.setObject(1, new int[] {1, 2});
+                ps.setObject(2, new Object[] {"a", null, "c"});
+                ps.setObject(3, new Object[] {new int[] {1}, new int[] {2, 3}});
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(rs.getString(1), "[1, 2]");
+                    assertEquals(rs.getString(2), "[a, null, c]");
+                    assertEquals(rs.getString(3), "[[1], [2, 3]]");
+                }
+            }
+
+            try (ResultSet source = stmt.executeQuery("SELECT emb, [1, NULL]::INTEGER[] FROM items WHERE id = 2");
+                 PreparedStatement ps = conn.prepareStatement("SELECT ?::FLOAT[3], ?")) {
+                assertTrue(source.next());
+                ps.setArray(1, source.getArray(1));
+                ps.setArray(2, source.getArray(2));
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(rs.getString(1), "[2.0, 1.0, 0.0]");
+                    assertEquals(rs.getString(2), "[1, null]");
+                }
+            }
+        }
+    }
+
+    public static void test_arrow_export_invalid_allocator() throws Exception {
+        try (Connection conn = DriverManager.getConnection(JDBC_URL); Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT 42")) {
+            DuckDBResultSet drs = rs.unwrap(DuckDBResultSet.class);
+            // rejected before the result is handed to a native Arrow stream, so it can still be read
+            assertThrows(() -> drs.arrowExportStream(new Object(), 1024), RuntimeException.class);
+            assertThrows(() -> drs.arrowExportStreams(new Object(), 1024, 4), RuntimeException.class);
+            assertTrue(rs.next());
+            assertEquals(rs.getInt(1), 42);
+        }
+    }
+
+    public static void test_arrow_export_streams_concurrently() throws Exception {
+        int row_count = 100_000;
+        int stream_count = 4;
+        Properties props = new Properties();
+        props.setProperty(JDBC_STREAM_RESULTS, String.valueOf(true));
+        ExecutorService executor = Executors.newFixedThreadPool(stream_count);
+        try (Connection conn = DriverManager.getConnection(JDBC_URL, props); Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT i, i::VARCHAR FROM range(" + row_count + ") t(i)")) {
+                long[] pointers = rs.unwrap(DuckDBResultSet.class).arrowStreamPointers(1000, stream_count);
+                assertEquals(pointers.length, stream_count);
+                List<Future<long[]>> parts = new ArrayList<>();
+                for (long pointer : pointers) {
+                    parts.add(executor.submit(() -> DuckDBNative.duckdb_jdbc_arrow_stream_read_longs(pointer)));
+                }
+
+                BitSet rows = new BitSet(row_count);
+                long total = 0;
+                for (Future<long[]> part : parts) {
+                    for (long row : part.get()) {
+                        assertFalse(rows.get((int) row));
+                        rows.set((int) row);
+                        total++;
+                    }
+                }
+                assertEquals(total, (long) row_count);
+                assertEquals(rows.cardinality(), row_count);
+            }
+
+            try (ResultSet rs = stmt.executeQuery("SELECT CASE WHEN i < 90000 THEN i ELSE error('boom')::BIGINT END "
+                                                  + "FROM range(" + row_count + ") t(i)")) {
+                long[] pointers = rs.unwrap(DuckDBResultSet.class).arrowStreamPointers(1000, 2);
+                for (long pointer : pointers) {
+                    assertThrows(() -> DuckDBNative.duckdb_jdbc_arrow_stream_read_longs(pointer), SQLException.class);
+                }
+            }
+
+            try (ResultSet rs = stmt.executeQuery("SELECT i::VARCHAR FROM range(10) t(i)")) {
+                long[] pointers = rs.unwrap(DuckDBResultSet.class).arrowStreamPointers(1000, 2);
+                String message = assertThrows(
+                    () -> DuckDBNative.duckdb_jdbc_arrow_stream_read_longs(pointers[0]), SQLException.class);
+                assertTrue(message.contains("not a BIGINT"));
+                // streams that are never imported are released natively
+                DuckDBNative.duckdb_jdbc_arrow_stream_release(pointers[1]);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public static void test_result_set_bulk_read() throws Exception {
+        DuckDBConnection conn = DriverManager.getConnection(JDBC_URL).unwrap(DuckDBConnection.class);
+        Statement stmt = conn.createStatement();
+
+        DuckDBResultSet rs = stmt.executeQuery("SELECT i::INTEGER, i * 2, CASE WHEN i % 7 = 0 THEN NULL ELSE i / 2 END, "
+                                               + "i::SMALLINT FROM range(5000) t(i)")
+                                 .unwrap(DuckDBResultSet.class);
+        int size = DuckDBNative.duckdb_jdbc_fetch_size();
+        int[] ints = new int[size];
+        long[] longs = new long[size];
+        double[] doubles = new double[size];
+        boolean[] nulls = new boolean[size];
+        int[] shorts = new int[size];
+        long total = 0;
+        int rows;
+        while ((rows = rs.nextChunk()) > 0) {
+            assertEquals(rs.getInts(1, ints), rows);
+            assertEquals(rs.getLongs(2, longs), rows);
+            assertEquals(rs.getDoubles(3, doubles), rows);
+            assertEquals(rs.getNullMask(3, nulls), rows);
+            assertEquals(rs.getInts(4, shorts), rows);
+            for (int i = 0; i < rows; i++) {
+                assertEquals(longs[i], ints[i] * 2L);
+                assertEquals(nulls[i], ints[i] % 7 == 0);
+                if (!nulls[i]) {
+                    assertEquals(doubles[i], ints[i] / 2.0);
+                }
+                assertEquals(shorts[i], ints[i]);
+            }
+            total += rows;
+        }
+        assertEquals(total, 5000L);
+        assertFalse(rs.next());
+        assertThrows(() -> { rs.getInts(1, new int[1]); }, SQLException.class);
+        rs.close();
+
+        DuckDBResultSet mixed = stmt.executeQuery("SELECT i::INTEGER FROM range(5000) t(i)").unwrap(DuckDBResultSet.class);
+        assertTrue(mixed.next());
+        assertEquals(mixed.getInt(1), 0);
+        assertThrows(() -> { mixed.getInts(1, new int[1]); }, SQLException.class);
+        // the rest of the first chunk is skipped
+        int skipped = 0;
+        while ((rows = mixed.nextChunk()) > 0) {
+            skipped += rows;
+        }
+        assertEquals(skipped, 5000 - size);
+        assertFalse(mixed.next());
+        mixed.close();
+
+        stmt.close();
+        conn.close();
+    }
+
     public static void test_statement_creation_bug1268() throws Exception {
         DuckDBConnection conn = DriverManager.getConnection(JDBC_URL).unwrap(DuckDBConnection.class);
         Statement stmt;
@@ -4021,6 +5074,163 @@ public class TestDuckDBJDBC {
         }
     }
 
+    public static void test_prefetch_chunks() throws Exception {
+        Properties props = new Properties();
+        props.setProperty(JDBC_STREAM_RESULTS, String.valueOf(true));
+        props.setProperty(JDBC_PREFETCH_CHUNKS, "3");
+
+        try (Connection conn = DriverManager.getConnection(JDBC_URL, props); Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT i, i::VARCHAR, i * 0.5 FROM range(100000) t(i)")) {
+                long expected = 0;
+                while (rs.next()) {
+                    assertEquals(rs.getLong(1), expected);
+                    assertEquals(rs.getString(2), String.valueOf(expected));
+                    assertEquals(rs.getDouble(3), expected * 0.5);
+                    expected++;
+                }
+                assertEquals(expected, 100000L);
+                assertFalse(rs.next());
+            }
+
+            // closing in the middle of the result stops the prefetching
+            try (ResultSet rs = stmt.executeQuery("SELECT * FROM range(100000)")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getLong(1), 0L);
+            }
+
+            // statements without a result set do not prefetch
+            stmt.execute("CREATE TABLE t (i BIGINT)");
+            assertEquals(stmt.executeUpdate("INSERT INTO t SELECT * FROM range(10000)"), 10000);
+
+            assertThrows(() -> { stmt.executeQuery("SELECT error('fail') FROM range(100000)").next(); },
+                         SQLException.class);
+        }
+
+        props.setProperty(JDBC_PREFETCH_CHUNKS, "many");
+        assertThrows(() -> { DriverManager.getConnection(JDBC_URL, props); }, SQLException.class);
+    }
+
+    public static void test_fetch_size() throws Exception {
+        try (Connection conn = DriverManager.getConnection(JDBC_URL); Statement stmt = conn.createStatement()) {
+            assertThrows(() -> { stmt.setFetchSize(-1); }, SQLException.class);
+            int defaultFetchSize = stmt.getFetchSize();
+            assertTrue(defaultFetchSize > 0);
+
+            stmt.setFetchSize(10000);
+            assertEquals(stmt.getFetchSize(), 10000);
+            try (DuckDBResultSet rs = stmt.executeQuery("SELECT i FROM range(100000) t(i)").unwrap(DuckDBResultSet.class)) {
+                assertEquals(rs.getFetchSize(), 10000);
+                long expected = 0;
+                int size;
+                while ((size = rs.nextChunk()) > 0) {
+                    assertTrue(size >= 10000 || expected + size == 100000);
+                    long[] values = new long[size];
+                    rs.getLongs(1, values);
+                    for (long v : values) {
+                        assertEquals(v, expected++);
+                    }
+                }
+                assertEquals(expected, 100000L);
+            }
+
+            stmt.setFetchSize(0);
+            assertEquals(stmt.getFetchSize(), defaultFetchSize);
+        }
+    }
+
+    public static void test_prepared_statement_cache() throws Exception {
+        Properties props = new Properties();
+        props.setProperty(JDBC_PREPARED_STATEMENT_CACHE_SIZE, "2");
+
+        try (DuckDBConnection conn = DriverManager.getConnection(JDBC_URL, props).unwrap(DuckDBConnection.class)) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE t (i INTEGER)");
+                stmt.execute("INSERT INTO t VALUES (1), (2), (3)");
+            }
+            long misses = conn.getPreparedStatementCacheMisses();
+            for (int i = 0; i < 3; i++) {
+                try (PreparedStatement ps = conn.prepareStatement("SELECT sum(i) FROM t WHERE i >= ?")) {
+                    ps.setInt(1, i + 1);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        assertTrue(rs.next());
+                        assertEquals(rs.getInt(1), 6 - i * (i + 1) / 2);
+                    }
+                }
+            }
+            assertEquals(conn.getPreparedStatementCacheHits(), 2L);
+            assertEquals(conn.getPreparedStatementCacheMisses(), misses + 1);
+
+            // a statement object preparing new SQL hands the previous statement back
+            try (Statement stmt = conn.createStatement()) {
+                for (int i = 0; i < 3; i++) {
+                    try (ResultSet rs = stmt.executeQuery("SELECT count(*) FROM t")) {
+                        assertTrue(rs.next());
+                        assertEquals(rs.getInt(1), 3 + i);
+                    }
+                    stmt.executeUpdate("INSERT INTO t VALUES (4)");
+                }
+            }
+            assertEquals(conn.getPreparedStatementCacheHits(), 6L);
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeQuery("SELECT 1").close();
+                stmt.executeQuery("SELECT 2").close();
+                stmt.executeQuery("SELECT 3").close();
+                stmt.executeQuery("SELECT 4").close();
+            }
+            assertTrue(conn.getPreparedStatementCacheEvictions() >= 2L);
+
+            // cached statements still see schema changes
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeQuery("SELECT * FROM t").close();
+                stmt.execute("ALTER TABLE t ADD COLUMN j VARCHAR DEFAULT 'x'");
+                try (ResultSet rs = stmt.executeQuery("SELECT * FROM t")) {
+                    assertEquals(rs.getMetaData().getColumnCount(), 2);
+                    assertTrue(rs.next());
+                    assertEquals(rs.getString(2), "x");
+                }
+            }
+            try (PreparedStatement ps = conn.prepareStatement("SELECT * FROM t")) {
+                assertEquals(ps.getMetaData().getColumnCount(), 2);
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ALTER TABLE t ADD COLUMN k INTEGER DEFAULT 7");
+            }
+            try (PreparedStatement ps = conn.prepareStatement("SELECT * FROM t")) {
+                assertEquals(ps.getMetaData().getColumnCount(), 3);
+                assertEquals(ps.getMetaData().getColumnName(3), "k");
+            }
+
+            // several statements in one string are always prepared again
+            long hits = conn.getPreparedStatementCacheHits();
+            try (Statement stmt = conn.createStatement()) {
+                for (int i = 0; i < 2; i++) {
+                    try (ResultSet rs = stmt.executeQuery("INSERT INTO t (i) VALUES (10); SELECT count(*) FROM t")) {
+                        assertTrue(rs.next());
+                    }
+                }
+            }
+            assertEquals(conn.getPreparedStatementCacheHits(), hits);
+
+            try (DuckDBConnection dup = conn.duplicate().unwrap(DuckDBConnection.class);
+                 Statement stmt = dup.createStatement()) {
+                stmt.executeQuery("SELECT 42").close();
+                stmt.executeQuery("SELECT 42").close();
+                assertEquals(dup.getPreparedStatementCacheHits(), 1L);
+            }
+        }
+
+        try (DuckDBConnection conn = DriverManager.getConnection(JDBC_URL).unwrap(DuckDBConnection.class);
+             Statement stmt = conn.createStatement()) {
+            stmt.executeQuery("SELECT 42").close();
+            stmt.executeQuery("SELECT 42").close();
+            assertEquals(conn.getPreparedStatementCacheHits(), 0L);
+        }
+
+        props.setProperty(JDBC_PREPARED_STATEMENT_CACHE_SIZE, "-1");
+        assertThrows(() -> { DriverManager.getConnection(JDBC_URL, props); }, SQLException.class);
+    }
+
     public static void test_offset_limit() throws Exception {
         try (Connection connection = DriverManager.getConnection(JDBC_URL);
              Statement s = connection.createStatement()) {
@@ -4106,6 +5316,49 @@ public class TestDuckDBJDBC {
         }
     }
 
+    public static void test_prepared_statement_typed_parameters() throws Exception {
+        try (Connection conn = DriverManager.getConnection(JDBC_URL);
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT ?::BOOLEAN, ?::TINYINT, ?::SMALLINT, ?::INTEGER, ?::BIGINT, ?::FLOAT, ?::DOUBLE, ?::VARCHAR, "
+                 + "?::UUID, ?::DECIMAL(10, 2), ?::BLOB, ?::INTEGER")) {
+            UUID uuid = UUID.fromString("a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11");
+            for (int i = 0; i < 3; i++) {
+                ps.setBoolean(1, true);
+                ps.setByte(2, (byte) -128);
+                ps.setShort(3, Short.MIN_VALUE);
+                ps.setInt(4, Integer.MIN_VALUE + i);
+                ps.setLong(5, Long.MAX_VALUE - i);
+                ps.setFloat(6, -1.5f);
+                ps.setDouble(7, Double.MIN_VALUE);
+                ps.setString(8, "pâté " + i);
+                ps.setObject(9, uuid);
+                ps.setObject(10, new BigDecimal("12345678.91"));
+                ps.setBytes(11, new byte[] {0, 1, (byte) 0xff});
+                ps.setNull(12, Types.INTEGER);
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertTrue(rs.getBoolean(1));
+                    assertEquals(rs.getByte(2), (byte) -128);
+                    assertEquals(rs.getShort(3), Short.MIN_VALUE);
+                    assertEquals(rs.getInt(4), Integer.MIN_VALUE + i);
+                    assertEquals(rs.getLong(5), Long.MAX_VALUE - i);
+                    assertEquals(rs.getFloat(6), -1.5f);
+                    assertEquals(rs.getDouble(7), Double.MIN_VALUE);
+                    assertEquals(rs.getString(8), "pâté " + i);
+                    assertEquals(rs.getObject(9), uuid);
+                    assertEquals(rs.getBigDecimal(10), new BigDecimal("12345678.91"));
+                    assertEquals(rs.getBlob(11).length(), 3L);
+                    assertNull(rs.getObject(12));
+                }
+            }
+
+            assertThrows(() -> { ps.setInt(13, 1); }, SQLException.class);
+            assertThrows(() -> { ps.setObject(1, new Object()); }, SQLException.class);
+            ps.clearParameters();
+            assertThrows(ps::executeQuery, SQLException.class);
+        }
+    }
+
     public static void test_batch_prepared_statement() throws Exception {
         try (Connection conn = DriverManager.getConnection(JDBC_URL)) {
             try (Statement s = conn.createStatement()) {
@@ -4148,6 +5401,58 @@ public class TestDuckDBJDBC {
         }
     }
 
+    public static void test_batch_prepared_statement_large() throws Exception {
+        try (Connection conn = DriverManager.getConnection(JDBC_URL); Statement s = conn.createStatement()) {
+            s.execute("CREATE TABLE test (x INT PRIMARY KEY, y VARCHAR)");
+            try (PreparedStatement ps = conn.prepareStatement("INSERT INTO test VALUES (?, ?)")) {
+                for (int i = 0; i < 10000; i++) {
+                    ps.setInt(1, i);
+                    ps.setString(2, "row " + i);
+                    ps.addBatch();
+                }
+                int[] counts = ps.executeBatch();
+                assertEquals(counts.length, 10000);
+                for (int count : counts) {
+                    assertEquals(count, 1);
+                }
+                assertEquals(ps.executeBatch().length, 0);
+
+                // a failing parameter set rolls back the whole batch
+                ps.setInt(1, 10000);
+                ps.setString(2, "new");
+                ps.addBatch();
+                ps.setInt(1, 0);
+                ps.setString(2, "duplicate");
+                ps.addBatch();
+                assertThrows(ps::executeBatch, SQLException.class);
+            }
+            try (ResultSet rs = s.executeQuery("SELECT count(*), sum(x) FROM test")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getLong(1), 10000L);
+                assertEquals(rs.getLong(2), 49995000L);
+            }
+
+            // inside an explicit transaction the batch becomes part of it
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement("DELETE FROM test WHERE x < ?")) {
+                ps.setInt(1, 10);
+                ps.addBatch();
+                ps.setInt(1, 20);
+                ps.addBatch();
+                int[] counts = ps.executeBatch();
+                assertEquals(counts.length, 2);
+                assertEquals(counts[0], 10);
+                assertEquals(counts[1], 10);
+            }
+            conn.rollback();
+            conn.setAutoCommit(true);
+            try (ResultSet rs = s.executeQuery("SELECT count(*) FROM test")) {
+                assertTrue(rs.next());
+                assertEquals(rs.getLong(1), 10000L);
+            }
+        }
+    }
+
     public static void test_batch_statement() throws Exception {
         try (Connection conn = DriverManager.getConnection(JDBC_URL)) {
             try (Statement s = conn.createStatement()) {